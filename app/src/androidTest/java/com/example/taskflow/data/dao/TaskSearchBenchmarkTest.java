@@ -0,0 +1,99 @@
+package com.example.taskflow.data.dao;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.taskflow.data.database.TaskDatabase;
+import com.example.taskflow.data.entity.Task;
+import com.example.taskflow.data.entity.TaskPriority;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Mede a latência de {@link TaskDao#search} numa tabela com 100 mil tarefas.
+ * A busca passa pelo índice FTS4, então deve ficar em poucos milissegundos.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TaskSearchBenchmarkTest {
+
+    private static final String TAG = "TaskSearchBenchmark";
+    private static final int ROW_COUNT = 100_000;
+    private static final int RUNS = 50;
+    private static final long MAX_MEDIAN_MS = 20;
+
+    private static final String[] WORDS = {
+            "relatório", "reunião", "comprar", "pagar", "enviar", "revisar", "cliente",
+            "projeto", "mercado", "conta", "email", "orçamento", "apresentação", "viagem"
+    };
+
+    private TaskDatabase database;
+    private TaskDao taskDao;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        database = Room.inMemoryDatabaseBuilder(context, TaskDatabase.class).build();
+        taskDao = database.taskDao();
+
+        Random random = new Random(42);
+        List<Task> batch = new ArrayList<>();
+        database.runInTransaction(() -> {
+            for (int i = 0; i < ROW_COUNT; i++) {
+                String title = WORDS[random.nextInt(WORDS.length)] + " "
+                        + WORDS[random.nextInt(WORDS.length)] + " " + i;
+                String description = WORDS[random.nextInt(WORDS.length)] + " "
+                        + WORDS[random.nextInt(WORDS.length)];
+                batch.add(new Task(title, description, TaskPriority.values()[i % 3]));
+                if (batch.size() == 1000) {
+                    taskDao.insertAll(batch);
+                    batch.clear();
+                }
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void prefixSearch_staysInLowMilliseconds() {
+        String[] queries = {"rel", "reuniao", "orç", "cliente proj", "viagem 99"};
+        long[] timingsNs = new long[RUNS];
+
+        for (int run = 0; run < RUNS; run++) {
+            String query = queries[run % queries.length];
+            String match = TaskSearchQuery.toMatchExpression(query);
+            String titleMatch = TaskSearchQuery.toTitleMatchExpression(query);
+
+            long start = System.nanoTime();
+            List<Task> results = taskDao.search(match, titleMatch, 50);
+            timingsNs[run] = System.nanoTime() - start;
+
+            assertFalse("Sem resultados para " + query, results.isEmpty());
+        }
+
+        Arrays.sort(timingsNs);
+        double medianMs = timingsNs[RUNS / 2] / 1_000_000.0;
+        double p90Ms = timingsNs[(int) (RUNS * 0.9)] / 1_000_000.0;
+        Log.i(TAG, String.format("rows=%d median=%.2fms p90=%.2fms", ROW_COUNT, medianMs, p90Ms));
+
+        assertTrue("Mediana da busca: " + medianMs + "ms", medianMs < MAX_MEDIAN_MS);
+    }
+}
@@ -0,0 +1,284 @@
+package com.example.taskflow.data.database;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.annotation.NonNull;
+import androidx.room.Room;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteOpenHelper;
+import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.taskflow.data.dao.TaskSearchQuery;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Cada migration partindo de um banco na versão 1 (a tabela que a primeira versão do app
+ * criava), levado até a versão de origem pelas próprias migrations. Os testes conferem os
+ * dados que cada passo precisa preservar ou preencher; migrateAll_opensWithRoom abre o
+ * resultado com o Room, que confere tabelas e índices com as entidades compiladas.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MigrationTest {
+
+    private static final String TEST_DB = "migration-test";
+
+    // Tabela da versão 1, antes de qualquer migration
+    private static final String V1_TASKS_SQL = "CREATE TABLE IF NOT EXISTS `tasks` ("
+            + "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `title` TEXT, "
+            + "`description` TEXT, `priority` TEXT, `isCompleted` INTEGER NOT NULL, "
+            + "`createdAt` INTEGER, `completedAt` INTEGER)";
+
+    private static final Migration[] MIGRATIONS = {
+            Migrations.MIGRATION_1_2, Migrations.MIGRATION_2_3, Migrations.MIGRATION_3_4,
+            Migrations.MIGRATION_4_5, Migrations.MIGRATION_5_6, Migrations.MIGRATION_6_7,
+            Migrations.MIGRATION_7_8
+    };
+
+    private Context context;
+    private SupportSQLiteOpenHelper openHelper;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @After
+    public void tearDown() {
+        if (openHelper != null) {
+            openHelper.close();
+        }
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @Test
+    public void migrate1To2_keepsRowsAndAddsIndexes() throws Exception {
+        SupportSQLiteDatabase db = createDatabase(1);
+        insertV1(db, "Relatório", "HIGH", 1_000L);
+
+        Migrations.MIGRATION_1_2.migrate(db);
+        assertEquals("Relatório", queryString(db, "SELECT title FROM tasks"));
+        assertTrue(indexNames(db).contains("index_tasks_isCompleted_createdAt"));
+    }
+
+    @Test
+    public void migrate2To3_indexesExistingTasksForSearch() throws Exception {
+        SupportSQLiteDatabase db = createDatabase(2);
+        insertV1(db, "Comprar pão", "LOW", 1_000L);
+
+        Migrations.MIGRATION_2_3.migrate(db);
+        assertEquals(1, queryLong(db,
+                "SELECT COUNT(*) FROM tasks_fts WHERE tasks_fts MATCH 'pão'"));
+    }
+
+    @Test
+    public void migrate3To4_replacesNullDatesAndKeepsSearchInSync() throws Exception {
+        long id;
+        SupportSQLiteDatabase db = createDatabase(3);
+        ContentValues values = new ContentValues();
+        values.put("title", "Sem data");
+        values.put("priority", "MEDIUM");
+        values.put("isCompleted", 0);
+        values.putNull("createdAt");
+        values.putNull("completedAt");
+        id = db.insert("tasks", SQLiteDatabase.CONFLICT_ABORT, values);
+
+        Migrations.MIGRATION_3_4.migrate(db);
+        assertEquals(id, queryLong(db, "SELECT id FROM tasks"));
+        assertEquals(0, queryLong(db, "SELECT createdAt FROM tasks"));
+        assertEquals(0, queryLong(db, "SELECT completedAt FROM tasks"));
+        // Os triggers de FTS são recriados junto com a tabela
+        db.execSQL("INSERT INTO tasks (title, priority, isCompleted, createdAt, completedAt) "
+                + "VALUES ('Reunião', 'LOW', 0, 2000, 0)");
+        assertEquals(1, queryLong(db,
+                "SELECT COUNT(*) FROM tasks_fts WHERE tasks_fts MATCH 'reunião'"));
+        assertEquals(1, queryLong(db,
+                "SELECT COUNT(*) FROM tasks_fts WHERE tasks_fts MATCH 'data'"));
+    }
+
+    @Test
+    public void migrate4To5_existingTasksHaveNoDueDate() throws Exception {
+        SupportSQLiteDatabase db = createDatabase(4);
+        insertV1(db, "Pagar conta", "HIGH", 1_000L);
+
+        Migrations.MIGRATION_4_5.migrate(db);
+        assertEquals(0, queryLong(db, "SELECT dueAt FROM tasks"));
+        assertTrue(indexNames(db).contains("index_tasks_isCompleted_dueAt"));
+    }
+
+    @Test
+    public void migrate5To6_assignsUidsAndLogsExistingTasks() throws Exception {
+        SupportSQLiteDatabase db = createDatabase(5);
+        insertV1(db, "Primeira", "LOW", 1_000L);
+        insertV1(db, "Segunda", "LOW", 2_000L);
+        db.execSQL("UPDATE tasks SET isCompleted = 1, completedAt = 5000 "
+                + "WHERE title = 'Segunda'");
+
+        Migrations.MIGRATION_5_6.migrate(db);
+        assertEquals(2, queryLong(db, "SELECT COUNT(DISTINCT uid) FROM tasks WHERE uid != ''"));
+        // Mesmo formato de UUID.randomUUID(): 36 caracteres, hífens e versão 4
+        assertEquals(2, queryLong(db, "SELECT COUNT(*) FROM tasks WHERE length(uid) = 36 "
+                + "AND substr(uid, 9, 1) = '-' AND substr(uid, 15, 1) = '4'"));
+        assertEquals(1_000L, queryLong(db,
+                "SELECT updatedAt FROM tasks WHERE title = 'Primeira'"));
+        assertEquals(5_000L, queryLong(db,
+                "SELECT updatedAt FROM tasks WHERE title = 'Segunda'"));
+        assertEquals(2, queryLong(db, "SELECT COUNT(*) FROM task_changes "
+                + "WHERE uid IN (SELECT uid FROM tasks) AND deleted = 0"));
+    }
+
+    @Test
+    public void migrate6To7_fillsPriorityRankWithoutLoggingChanges() throws Exception {
+        SupportSQLiteDatabase db = createDatabase(6);
+        insertV6(db, "Alta", "HIGH", "11111111-1111-4111-8111-111111111111");
+        insertV6(db, "Baixa", "LOW", "22222222-2222-4222-8222-222222222222");
+
+        Migrations.MIGRATION_6_7.migrate(db);
+        assertEquals(3, queryLong(db, "SELECT priorityRank FROM tasks WHERE title = 'Alta'"));
+        assertEquals(1, queryLong(db, "SELECT priorityRank FROM tasks WHERE title = 'Baixa'"));
+        // Só as duas inserções: o preenchimento do rank não entra no log
+        assertEquals(2, queryLong(db, "SELECT MAX(revision) FROM task_changes"));
+        // O trigger de update volta a funcionar depois da migration
+        db.execSQL("UPDATE tasks SET updatedAt = 9000 WHERE title = 'Alta'");
+        assertEquals(9_000L, queryLong(db, "SELECT changedAt FROM task_changes "
+                + "WHERE uid = '11111111-1111-4111-8111-111111111111'"));
+    }
+
+    @Test
+    public void migrate7To8_logsDeletionWithRowTimestamp() throws Exception {
+        SupportSQLiteDatabase db = createDatabase(7);
+        // Trigger de exclusão da versão 7, com o relógio do SQLite
+        db.execSQL("DROP TRIGGER task_changes_AFTER_DELETE");
+        db.execSQL("CREATE TRIGGER task_changes_AFTER_DELETE AFTER DELETE ON `tasks` "
+                + "BEGIN INSERT OR REPLACE INTO `task_changes` (`uid`, `deleted`, `changedAt`) "
+                + "VALUES (OLD.`uid`, 1, MAX(OLD.`updatedAt` + 1, "
+                + "CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER))); END");
+        insertV6(db, "Antiga", "LOW", "33333333-3333-4333-8333-333333333333");
+
+        Migrations.MIGRATION_7_8.migrate(db);
+        // O TaskDao carimba o horário do app antes de excluir
+        db.execSQL("UPDATE tasks SET updatedAt = MAX(updatedAt, 5000 - 1)");
+        db.execSQL("DELETE FROM tasks");
+        assertEquals(5_000L, queryLong(db, "SELECT changedAt FROM task_changes "
+                + "WHERE uid = '33333333-3333-4333-8333-333333333333' AND deleted = 1"));
+    }
+
+    // Da primeira versão até a atual pelo próprio Room, que confere o schema com as entidades
+    @Test
+    public void migrateAll_opensWithRoom() throws Exception {
+        SupportSQLiteDatabase db = createDatabase(1);
+        insertV1(db, "Antiga", "MEDIUM", 1_000L);
+        openHelper.close();
+        openHelper = null;
+
+        TaskDatabase database = Room.databaseBuilder(context, TaskDatabase.class, TEST_DB)
+                .addMigrations(MIGRATIONS)
+                .addCallback(TaskDatabase.CHANGE_LOG_CALLBACK)
+                .allowMainThreadQueries()
+                .build();
+        try {
+            assertEquals("Antiga", database.taskDao().loadFirstPage(10).get(0).getTitle());
+            assertEquals(2, database.taskDao().loadFirstPage(10).get(0).getPriorityRank());
+            assertFalse(database.taskDao().search(TaskSearchQuery.toMatchExpression("antiga"),
+                    TaskSearchQuery.toTitleMatchExpression("antiga"), 10).isEmpty());
+        } finally {
+            database.close();
+        }
+    }
+
+    // Banco na versão 1 levado até a versão pedida pelas migrations do app
+    private SupportSQLiteDatabase createDatabase(int version) {
+        SupportSQLiteOpenHelper.Configuration configuration = SupportSQLiteOpenHelper
+                .Configuration.builder(context)
+                .name(TEST_DB)
+                .callback(new SupportSQLiteOpenHelper.Callback(1) {
+                    @Override
+                    public void onCreate(@NonNull SupportSQLiteDatabase db) {
+                        db.execSQL(V1_TASKS_SQL);
+                    }
+
+                    @Override
+                    public void onUpgrade(@NonNull SupportSQLiteDatabase db,
+                                          int oldVersion, int newVersion) {
+                    }
+                })
+                .build();
+        openHelper = new FrameworkSQLiteOpenHelperFactory().create(configuration);
+        SupportSQLiteDatabase db = openHelper.getWritableDatabase();
+        for (Migration migration : MIGRATIONS) {
+            if (migration.endVersion <= version) {
+                migration.migrate(db);
+            }
+        }
+        return db;
+    }
+
+    // Colunas comuns às versões 1 a 5
+    private static void insertV1(SupportSQLiteDatabase db, String title, String priority,
+                                 long createdAt) {
+        ContentValues values = new ContentValues();
+        values.put("title", title);
+        values.put("priority", priority);
+        values.put("isCompleted", 0);
+        values.put("createdAt", createdAt);
+        values.put("completedAt", 0L);
+        db.insert("tasks", SQLiteDatabase.CONFLICT_ABORT, values);
+    }
+
+    // Colunas das versões 6 e 7; priorityRank fica com o padrão
+    private static void insertV6(SupportSQLiteDatabase db, String title, String priority,
+                                 String uid) {
+        ContentValues values = new ContentValues();
+        values.put("title", title);
+        values.put("priority", priority);
+        values.put("isCompleted", 0);
+        values.put("createdAt", 1_000L);
+        values.put("completedAt", 0L);
+        values.put("dueAt", 0L);
+        values.put("uid", uid);
+        values.put("updatedAt", 1_000L);
+        db.insert("tasks", SQLiteDatabase.CONFLICT_ABORT, values);
+    }
+
+    private static long queryLong(SupportSQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.query(sql)) {
+            assertTrue("Sem resultado: " + sql, cursor.moveToFirst());
+            return cursor.getLong(0);
+        }
+    }
+
+    private static String queryString(SupportSQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.query(sql)) {
+            assertTrue("Sem resultado: " + sql, cursor.moveToFirst());
+            return cursor.getString(0);
+        }
+    }
+
+    private static Set<String> indexNames(SupportSQLiteDatabase db) {
+        Set<String> names = new HashSet<>();
+        try (Cursor cursor = db.query("SELECT name FROM sqlite_master WHERE type = 'index' "
+                + "AND tbl_name = 'tasks'")) {
+            while (cursor.moveToNext()) {
+                names.add(cursor.getString(0));
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.taskflow.benchmark;
+
+import android.app.Activity;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.util.Log;
+import com.example.taskflow.ServiceLocator;
+import com.example.taskflow.data.dao.TaskDao;
+import com.example.taskflow.data.entity.Task;
+import com.example.taskflow.data.entity.TaskPriority;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Preenche o banco com tarefas sintéticas para o startup ser medido com uma lista real:
+ * am broadcast -n com.example.taskflow/.benchmark.SeedTasksReceiver --ei count 2000
+ *
+ * Completa até a quantidade pedida (chamadas repetidas não duplicam) e só responde depois
+ * de gravar, então o am broadcast retorna com o banco pronto.
+ */
+public class SeedTasksReceiver extends BroadcastReceiver {
+
+    public static final String EXTRA_COUNT = "count";
+
+    private static final String TAG = "SeedTasksReceiver";
+    private static final int DEFAULT_COUNT = 2_000;
+    private static final int BATCH_SIZE = 500;
+    private static final long DAY_MS = 24 * 60 * 60 * 1000L;
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        int target = intent.getIntExtra(EXTRA_COUNT, DEFAULT_COUNT);
+        PendingResult result = goAsync();
+        ServiceLocator.getExecutors().backgroundExecutor().execute(() -> {
+            try {
+                TaskDao taskDao = ServiceLocator.getTaskDatabase(context).taskDao();
+                int existing = taskDao.countTasks();
+                seed(taskDao, existing, target);
+                result.setResult(Activity.RESULT_OK, "tasks=" + taskDao.countTasks(), null);
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Falha ao preencher o banco", e);
+                result.setResult(Activity.RESULT_CANCELED, e.toString(), null);
+            } finally {
+                result.finish();
+            }
+        });
+    }
+
+    // Mistura de prioridades, concluídas e prazos parecida com a de um usuário real
+    private static void seed(TaskDao taskDao, int existing, int target) {
+        Random random = new Random(42 + existing);
+        long now = System.currentTimeMillis();
+        TaskPriority[] priorities = TaskPriority.values();
+        List<Task> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = existing; i < target; i++) {
+            Task task = new Task("Tarefa " + i, i % 3 == 0 ? "Descrição da tarefa " + i : null,
+                    priorities[random.nextInt(priorities.length)]);
+            task.setCreatedAt(now - (target - i) * 60_000L);
+            if (random.nextInt(4) == 0) {
+                task.setCompleted(true);
+                task.setCompletedAt(task.getCreatedAt() + 30_000L);
+            }
+            if (random.nextInt(3) == 0) {
+                task.setDueAt(now + (random.nextInt(21) - 7) * DAY_MS);
+            }
+            batch.add(task);
+            if (batch.size() == BATCH_SIZE) {
+                taskDao.insertAll(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            taskDao.insertAll(batch);
+        }
+    }
+}
@@ -1,42 +1,50 @@
 package com.example.taskflow;
 
+import android.app.DatePickerDialog;
+import android.app.TimePickerDialog;
 import android.os.Bundle;
 import android.view.View;
+import android.widget.ImageButton;
 import android.widget.RadioButton;
 import android.widget.RadioGroup;
 import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
 import androidx.lifecycle.ViewModelProvider;
-import com.example.taskflow.data.database.TaskDatabase;
 import com.example.taskflow.data.entity.Task;
 import com.example.taskflow.data.entity.TaskPriority;
+import com.example.taskflow.data.model.TaskDetailsUpdate;
+import com.example.taskflow.util.AppClock;
+import com.example.taskflow.util.TaskDateLabelFormatter;
+import com.example.taskflow.util.TaskTimeWindows;
 import com.example.taskflow.viewmodel.TaskViewModel;
 import com.google.android.material.appbar.MaterialToolbar;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.android.material.textfield.TextInputLayout;
-
 import java.util.Calendar;
-import java.util.Date;
-import java.util.TimeZone;
 
 public class AddEditTaskActivity extends AppCompatActivity {
 
     public static final String EXTRA_TASK_ID = "task_id";
-    public static final String EXTRA_TASK_TITLE = "task_title";
-    public static final String EXTRA_TASK_DESCRIPTION = "task_description";
-    public static final String EXTRA_TASK_PRIORITY = "task_priority";
+    private static final String STATE_DUE_AT = "due_at";
 
     private TextInputEditText etTitle, etDescription;
     private TextInputLayout tilTitle, tilDescription;
     private RadioGroup rgPriority;
     private RadioButton rbHigh, rbMedium, rbLow;
-    private MaterialButton btnSave;
+    private MaterialButton btnSave, btnDueDate;
+    private ImageButton btnClearDueDate;
     private MaterialToolbar toolbar;
 
     private TaskViewModel taskViewModel;
     private long taskId = -1;
     private boolean isEditMode = false;
+    // Prazo escolhido; não fica em nenhuma view, por isso vai no savedInstanceState
+    private long dueAt = Task.NO_TIMESTAMP;
+    // Versão do banco quando a tela abriu; usada para gravar só o que mudou
+    private Task originalTask;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -44,8 +52,12 @@ public class AddEditTaskActivity extends AppCompatActivity {
         setContentView(R.layout.activity_add_edit_task);
 
         initViews();
+        if (savedInstanceState != null) {
+            dueAt = savedInstanceState.getLong(STATE_DUE_AT, Task.NO_TIMESTAMP);
+        }
+        updateDueDateButton();
         setupViewModel();
-        checkEditMode();
+        checkEditMode(savedInstanceState);
         setupListeners();
     }
 
@@ -60,6 +72,8 @@ public class AddEditTaskActivity extends AppCompatActivity {
         rbMedium = findViewById(R.id.rb_medium);
         rbLow = findViewById(R.id.rb_low);
         btnSave = findViewById(R.id.btn_save);
+        btnDueDate = findViewById(R.id.btn_due_date);
+        btnClearDueDate = findViewById(R.id.btn_clear_due_date);
 
         setSupportActionBar(toolbar);
         if (getSupportActionBar() != null) {
@@ -67,40 +81,28 @@ public class AddEditTaskActivity extends AppCompatActivity {
         }
     }
 
+    @Override
+    protected void onSaveInstanceState(Bundle outState) {
+        super.onSaveInstanceState(outState);
+        outState.putLong(STATE_DUE_AT, dueAt);
+    }
+
     private void setupViewModel() {
         taskViewModel = new ViewModelProvider(this).get(TaskViewModel.class);
     }
 
-    private void checkEditMode() {
+    private void checkEditMode(Bundle savedInstanceState) {
         if (getIntent().hasExtra(EXTRA_TASK_ID)) {
             isEditMode = true;
             taskId = getIntent().getLongExtra(EXTRA_TASK_ID, -1);
 
             toolbar.setTitle("Editar Tarefa");
             btnSave.setText("Atualizar");
+            // Sem a versão do banco não dá para saber o que mudou; habilita ao carregar
+            btnSave.setEnabled(false);
 
-            // Preenche os campos com os dados da tarefa
-            String title = getIntent().getStringExtra(EXTRA_TASK_TITLE);
-            String description = getIntent().getStringExtra(EXTRA_TASK_DESCRIPTION);
-            String priority = getIntent().getStringExtra(EXTRA_TASK_PRIORITY);
-
-            etTitle.setText(title);
-            etDescription.setText(description != null ? description : "");
-
-            // Seleciona a prioridade correta
-            switch (priority) {
-                case "HIGH":
-                    rbHigh.setChecked(true);
-                    break;
-                case "MEDIUM":
-                    rbMedium.setChecked(true);
-                    break;
-                case "LOW":
-                    rbLow.setChecked(true);
-                    break;
-                default:
-                    rbMedium.setChecked(true);
-            }
+            // Depois de uma recriação os campos já restauram o que o usuário digitou
+            loadTask(savedInstanceState == null);
         } else {
             toolbar.setTitle("Nova Tarefa");
             btnSave.setText("Salvar");
@@ -108,11 +110,87 @@ public class AddEditTaskActivity extends AppCompatActivity {
         }
     }
 
+    // A lista só tem a prévia da descrição: a linha completa é lida do banco pelo id
+    private void loadTask(boolean fillForm) {
+        LiveData<Task> source = taskViewModel.getTask(taskId);
+        source.observe(this, new Observer<Task>() {
+            @Override
+            public void onChanged(Task task) {
+                source.removeObserver(this);
+                if (task == null) {
+                    Toast.makeText(AddEditTaskActivity.this, "Tarefa não encontrada",
+                            Toast.LENGTH_SHORT).show();
+                    finish();
+                    return;
+                }
+                originalTask = task;
+                if (fillForm) {
+                    fillFields(task);
+                }
+                btnSave.setEnabled(true);
+            }
+        });
+    }
+
+    private void fillFields(Task task) {
+        etTitle.setText(task.getTitle());
+        etDescription.setText(task.getDescription() != null ? task.getDescription() : "");
+
+        // Seleciona a prioridade correta
+        switch (task.getPriority()) {
+            case HIGH:
+                rbHigh.setChecked(true);
+                break;
+            case LOW:
+                rbLow.setChecked(true);
+                break;
+            default:
+                rbMedium.setChecked(true);
+        }
+
+        dueAt = task.getDueAt();
+        updateDueDateButton();
+    }
+
+    private void updateDueDateButton() {
+        if (dueAt == Task.NO_TIMESTAMP) {
+            btnDueDate.setText("Sem prazo");
+            btnClearDueDate.setVisibility(View.GONE);
+        } else {
+            btnDueDate.setText(TaskDateLabelFormatter.getInstance().getDueLabel(dueAt));
+            btnClearDueDate.setVisibility(View.VISIBLE);
+        }
+    }
+
+    // Data e depois hora, no mesmo fuso dos rótulos da lista
+    private void pickDueDate() {
+        Calendar calendar = Calendar.getInstance(TaskTimeWindows.TIME_ZONE);
+        calendar.setTimeInMillis(dueAt != Task.NO_TIMESTAMP ? dueAt : AppClock.now());
+        new DatePickerDialog(this, (view, year, month, dayOfMonth) -> {
+            calendar.set(year, month, dayOfMonth);
+            new TimePickerDialog(this, (timeView, hourOfDay, minute) -> {
+                calendar.set(Calendar.HOUR_OF_DAY, hourOfDay);
+                calendar.set(Calendar.MINUTE, minute);
+                calendar.set(Calendar.SECOND, 0);
+                calendar.set(Calendar.MILLISECOND, 0);
+                dueAt = calendar.getTimeInMillis();
+                updateDueDateButton();
+            }, calendar.get(Calendar.HOUR_OF_DAY), calendar.get(Calendar.MINUTE), true).show();
+        }, calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH),
+                calendar.get(Calendar.DAY_OF_MONTH)).show();
+    }
+
     private void setupListeners() {
         toolbar.setNavigationOnClickListener(v -> finish());
 
         btnSave.setOnClickListener(v -> saveTask());
 
+        btnDueDate.setOnClickListener(v -> pickDueDate());
+        btnClearDueDate.setOnClickListener(v -> {
+            dueAt = Task.NO_TIMESTAMP;
+            updateDueDateButton();
+        });
+
         // Remove erro do título quando o usuário digita
         etTitle.addTextChangedListener(new android.text.TextWatcher() {
             @Override
@@ -149,29 +227,24 @@ public class AddEditTaskActivity extends AppCompatActivity {
         }
 
         if (isEditMode) {
-            // Atualiza tarefa existente
-            Task task = new Task(title, description.isEmpty() ? null : description, priority);
-            task.setId(taskId);
-
-            // Preserva as datas originais se necessário
-            // (o Room vai manter as datas ao fazer update)
-
-            taskViewModel.update(task);
+            if (originalTask == null) {
+                return; // Ainda carregando; o botão volta a ser habilitado ao terminar
+            }
+            // Atualização parcial: só as colunas alteradas; createdAt e status ficam como estão
+            TaskDetailsUpdate update = new TaskDetailsUpdate(originalTask, title,
+                    description.isEmpty() ? null : description, priority, dueAt);
+            if (update.hasChanges()) {
+                taskViewModel.updateDetails(update);
+            }
             Toast.makeText(this, "Tarefa atualizada com sucesso", Toast.LENGTH_SHORT).show();
         } else {
             // Cria nova tarefa
             Task newTask = new Task(title, description.isEmpty() ? null : description, priority);
+            newTask.setDueAt(dueAt);
             taskViewModel.insert(newTask);
             Toast.makeText(this, "Tarefa criada com sucesso", Toast.LENGTH_SHORT).show();
         }
 
         finish();
     }
-
-    // Método para obter hora atual no fuso horário brasileiro
-    private Date getCurrentBrazilianTime() {
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTimeZone(TimeZone.getTimeZone("America/Sao_Paulo"));
-        return calendar.getTime();
-    }
 }
\ No newline at end of file
@@ -1,36 +1,62 @@
 package com.example.taskflow;
 
+import android.Manifest;
 import android.content.Intent;
+import android.content.pm.PackageManager;
+import android.os.Build;
 import android.os.Bundle;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.view.Menu;
+import android.view.MenuItem;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.appcompat.view.ActionMode;
 import androidx.lifecycle.ViewModelProvider;
+import androidx.paging.CombinedLoadStates;
+import androidx.paging.LoadState;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.taskflow.adapter.TaskAdapter;
-import com.example.taskflow.data.entity.Task;
 import com.example.taskflow.data.entity.TaskPriority;
+import com.example.taskflow.data.model.TaskFilter;
+import com.example.taskflow.data.model.TaskListItem;
+import com.example.taskflow.data.model.TaskSort;
+import com.example.taskflow.metrics.TaskMetrics;
+import com.example.taskflow.sync.SyncWorker;
 import com.example.taskflow.viewmodel.TaskViewModel;
+import com.google.android.material.appbar.MaterialToolbar;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
-import java.util.Date;
+import com.google.android.material.textfield.TextInputEditText;
+import java.io.FileDescriptor;
+import java.io.PrintWriter;
 import java.util.List;
+import kotlin.Unit;
+import kotlin.jvm.functions.Function1;
 
 public class MainActivity extends AppCompatActivity implements TaskAdapter.OnTaskActionListener {
 
+    private static final int REQUEST_NOTIFICATIONS = 1;
+
     private RecyclerView recyclerView;
     private TaskAdapter taskAdapter;
     private TaskViewModel taskViewModel;
     private FloatingActionButton fabAddTask;
-    private TextView tvPendingCount, tvCompletedCount;
+    private TextView tvPendingCount, tvCompletedCount, tvOverdueCount;
     private ChipGroup chipGroup;
     private Chip chipAll, chipPending, chipCompleted, chipHighPriority;
-
-    private String currentFilter = "all";
+    private MaterialToolbar toolbar;
+    private TextInputEditText etSearch;
+    private ActionMode selectionActionMode;
+    private boolean firstLoadStarted = false;
+    private boolean fullyDrawnReported = false;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -43,14 +69,21 @@ public class MainActivity extends AppCompatActivity implements TaskAdapter.OnTas
         setupObservers();
         setupClickListeners();
         setupFilterChips();
+        setupSearch();
+        setupToolbarMenu();
+        setupReminders();
+        SyncWorker.schedule(this);
     }
 
     private void initViews() {
+        toolbar = findViewById(R.id.toolbar);
         recyclerView = findViewById(R.id.recyclerViewTasks);
         fabAddTask = findViewById(R.id.fabAddTask);
         tvPendingCount = findViewById(R.id.tvPendingCount);
         tvCompletedCount = findViewById(R.id.tvCompletedCount);
+        tvOverdueCount = findViewById(R.id.tvOverdueCount);
         chipGroup = findViewById(R.id.chipGroup);
+        etSearch = findViewById(R.id.etSearch);
 
         chipAll = findViewById(R.id.chip_all);
         chipPending = findViewById(R.id.chip_pending);
@@ -59,32 +92,71 @@ public class MainActivity extends AppCompatActivity implements TaskAdapter.OnTas
     }
 
     private void setupRecyclerView() {
-        taskAdapter = new TaskAdapter(this);
+        taskAdapter = new TaskAdapter(this, ServiceLocator.getExecutors().backgroundExecutor());
         taskAdapter.setOnTaskActionListener(this);
         recyclerView.setAdapter(taskAdapter);
         recyclerView.setLayoutManager(new LinearLayoutManager(this));
+
+        // Marca o fim do startup (TTFD) quando a primeira página já está na tela
+        taskAdapter.addLoadStateListener(firstLoadListener);
     }
 
+    // O estado inicial do adapter já é NotLoading, então espera o primeiro carregamento terminar
+    private final Function1<CombinedLoadStates, Unit> firstLoadListener = loadStates -> {
+        LoadState refresh = loadStates.getRefresh();
+        if (refresh instanceof LoadState.Loading) {
+            firstLoadStarted = true;
+        } else if (firstLoadStarted && !fullyDrawnReported) {
+            fullyDrawnReported = true;
+            recyclerView.post(() -> {
+                reportFullyDrawn();
+                taskAdapter.removeLoadStateListener(this.firstLoadListener);
+            });
+        }
+        return Unit.INSTANCE;
+    };
+
     private void setupViewModel() {
         taskViewModel = new ViewModelProvider(this).get(TaskViewModel.class);
     }
 
     private void setupObservers() {
-        // Observar contadores do dashboard
-        taskViewModel.getPendingTasksCount().observe(this, count -> {
-            if (count != null) {
-                tvPendingCount.setText(String.valueOf(count));
+        // Observar contadores do dashboard (uma única consulta agregada)
+        taskViewModel.getTaskStats().observe(this, stats -> {
+            if (stats != null) {
+                tvPendingCount.setText(String.valueOf(stats.getPendingCount()));
+                tvCompletedCount.setText(String.valueOf(stats.getCompletedCount()));
+                tvOverdueCount.setText(String.valueOf(stats.getOverdueCount()));
             }
         });
 
-        taskViewModel.getCompletedTasksCount().observe(this, count -> {
-            if (count != null) {
-                tvCompletedCount.setText(String.valueOf(count));
+        // Um único observer para a lista; trocar o filtro troca a consulta no ViewModel
+        taskViewModel.getTasks().observe(this, pagingData -> {
+            if (pagingData != null) {
+                taskAdapter.submitData(getLifecycle(), pagingData);
             }
         });
 
-        // CORREÇÃO: Observar todas as tarefas por padrão
-        applyCurrentFilter();
+        // Toggles otimistas: aparecem no próximo frame, antes da gravação no banco
+        taskViewModel.getStatusOverlay().observe(this, taskAdapter::setStatusOverlay);
+        taskAdapter.addOnPagesUpdatedListener(() -> {
+            taskViewModel.reconcileStatusOverlay(taskAdapter.snapshot().getItems());
+            return Unit.INSTANCE;
+        });
+        // Progresso do backup no subtítulo da toolbar
+        taskViewModel.getBackupProgress().observe(this, toolbar::setSubtitle);
+        taskViewModel.getBackupMessage().observe(this, message -> {
+            if (message != null) {
+                Toast.makeText(this, message, Toast.LENGTH_LONG).show();
+                taskViewModel.consumeBackupMessage();
+            }
+        });
+        taskViewModel.getWriteError().observe(this, message -> {
+            if (message != null) {
+                Toast.makeText(this, message, Toast.LENGTH_SHORT).show();
+                taskViewModel.consumeWriteError();
+            }
+        });
     }
 
     private void setupClickListeners() {
@@ -97,100 +169,238 @@ public class MainActivity extends AppCompatActivity implements TaskAdapter.OnTas
     private void setupFilterChips() {
         chipGroup.setOnCheckedChangeListener((group, checkedId) -> {
             if (checkedId == R.id.chip_all) {
-                currentFilter = "all";
+                taskViewModel.setFilter(TaskFilter.ALL);
             } else if (checkedId == R.id.chip_pending) {
-                currentFilter = "pending";
+                taskViewModel.setFilter(TaskFilter.PENDING);
             } else if (checkedId == R.id.chip_completed) {
-                currentFilter = "completed";
+                taskViewModel.setFilter(TaskFilter.COMPLETED);
             } else if (checkedId == R.id.chip_high_priority) {
-                currentFilter = "high_priority";
+                taskViewModel.setFilter(TaskFilter.HIGH_PRIORITY);
+            } else if (checkedId == R.id.chip_due_today) {
+                taskViewModel.setFilter(TaskFilter.DUE_TODAY);
+            } else if (checkedId == R.id.chip_overdue) {
+                taskViewModel.setFilter(TaskFilter.OVERDUE);
+            } else if (checkedId == R.id.chip_next_7_days) {
+                taskViewModel.setFilter(TaskFilter.NEXT_7_DAYS);
+            }
+        });
+    }
+
+    // Arma os próximos lembretes e, no Android 13+, pede permissão para notificar
+    private void setupReminders() {
+        ServiceLocator.getReminderScheduler(this).start();
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU
+                && checkSelfPermission(Manifest.permission.POST_NOTIFICATIONS)
+                != PackageManager.PERMISSION_GRANTED) {
+            requestPermissions(new String[]{Manifest.permission.POST_NOTIFICATIONS},
+                    REQUEST_NOTIFICATIONS);
+        }
+    }
+
+    private void setupSearch() {
+        // O ViewModel aplica o debounce; aqui só repassamos o texto
+        etSearch.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+                taskViewModel.setSearchQuery(s.toString());
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {}
+        });
+    }
+
+    private void setupToolbarMenu() {
+        toolbar.inflateMenu(R.menu.main_menu);
+        toolbar.setOnMenuItemClickListener(item -> {
+            if (item.getItemId() == R.id.action_sort) {
+                showSortDialog();
+                return true;
+            }
+            if (item.getItemId() == R.id.action_export_backup) {
+                exportBackupLauncher.launch("taskflow-backup.jsonl");
+                return true;
+            }
+            if (item.getItemId() == R.id.action_import_backup) {
+                importBackupLauncher.launch(new String[]{"*/*"});
+                return true;
+            }
+            if (item.getItemId() == R.id.action_delete_completed) {
+                confirmDeleteCompleted();
+                return true;
             }
-            applyCurrentFilter();
+            return false;
         });
     }
 
-    // CORREÇÃO: Método centralizado para aplicar filtros
-    private void applyCurrentFilter() {
-        switch (currentFilter) {
-            case "all":
-                taskViewModel.getAllTasks().observe(this, tasks -> {
-                    if (tasks != null) {
-                        taskAdapter.setTasks(tasks);
-                    }
-                });
-                break;
-            case "pending":
-                taskViewModel.getPendingTasks().observe(this, tasks -> {
-                    if (tasks != null) {
-                        taskAdapter.setTasks(tasks);
-                    }
-                });
-                break;
-            case "completed":
-                taskViewModel.getCompletedTasks().observe(this, tasks -> {
-                    if (tasks != null) {
-                        taskAdapter.setTasks(tasks);
-                    }
-                });
-                break;
-            case "high_priority":
-                taskViewModel.getHighPriorityTasks().observe(this, tasks -> {
-                    if (tasks != null) {
-                        taskAdapter.setTasks(tasks);
-                    }
-                });
-                break;
+    // Arquivos de backup escolhidos pelo usuário via Storage Access Framework
+    private final ActivityResultLauncher<String> exportBackupLauncher = registerForActivityResult(
+            new ActivityResultContracts.CreateDocument("application/x-ndjson"), uri -> {
+                if (uri != null) {
+                    taskViewModel.exportBackup(uri);
+                }
+            });
+
+    private final ActivityResultLauncher<String[]> importBackupLauncher = registerForActivityResult(
+            new ActivityResultContracts.OpenDocument(), uri -> {
+                if (uri != null) {
+                    taskViewModel.importBackup(uri);
+                }
+            });
+
+    private void showSortDialog() {
+        TaskSort[] sorts = TaskSort.values();
+        String[] names = new String[sorts.length];
+        for (int i = 0; i < sorts.length; i++) {
+            names[i] = sorts[i].getDisplayName();
         }
+        TaskSort current = taskViewModel.getSort();
+        new AlertDialog.Builder(this)
+                .setTitle("Ordenar por")
+                .setSingleChoiceItems(names, current.ordinal(),
+                        (dialog, which) -> {
+                            taskViewModel.setSort(sorts[which]);
+                            recyclerView.scrollToPosition(0);
+                            dialog.dismiss();
+                        })
+                .setNegativeButton("Cancelar", null)
+                .show();
+    }
+
+    private void confirmDeleteCompleted() {
+        new AlertDialog.Builder(this)
+                .setTitle("Excluir Concluídas")
+                .setMessage("Tem certeza que deseja excluir todas as tarefas concluídas?")
+                .setPositiveButton("Sim", (dialog, which) -> {
+                    taskViewModel.deleteCompletedTasks();
+                    Toast.makeText(this, "Tarefas concluídas excluídas", Toast.LENGTH_SHORT).show();
+                })
+                .setNegativeButton("Não", null)
+                .show();
     }
 
     // CORREÇÃO: Implementação correta do toggle de status
     @Override
-    public void onTaskCompleteToggle(Task task) {
-        // Inverte o status atual
-        boolean newStatus = !task.isCompleted();
-        task.setCompleted(newStatus);
-
-        // Define a data de conclusão
-        if (newStatus) {
-            task.setCompletedAt(new Date());
+    public void onTaskCompleteToggle(TaskListItem task) {
+        // O item recebido já reflete o status exibido (com o overlay otimista); nada é
+        // alterado nele, o ViewModel guarda o novo status até o banco confirmar
+        boolean completed = !task.isCompleted();
+        if (completed) {
             Toast.makeText(this, "Tarefa marcada como concluída", Toast.LENGTH_SHORT).show();
         } else {
-            task.setCompletedAt(null);
             Toast.makeText(this, "Tarefa marcada como pendente", Toast.LENGTH_SHORT).show();
         }
 
-        // Atualiza no banco de dados
-        taskViewModel.update(task);
-
-        // CORREÇÃO: Reaplica o filtro atual para atualizar a lista
-        applyCurrentFilter();
+        taskViewModel.setCompleted(task.getId(), completed);
     }
 
     @Override
-    public void onTaskDelete(Task task) {
+    public void onTaskDelete(TaskListItem task) {
         new AlertDialog.Builder(this)
                 .setTitle("Excluir Tarefa")
                 .setMessage("Tem certeza que deseja excluir esta tarefa?")
                 .setPositiveButton("Sim", (dialog, which) -> {
-                    taskViewModel.delete(task);
+                    taskViewModel.delete(task.getId());
                     Toast.makeText(this, "Tarefa excluída", Toast.LENGTH_SHORT).show();
-                    // Reaplica o filtro atual
-                    applyCurrentFilter();
                 })
                 .setNegativeButton("Não", null)
                 .show();
     }
 
     @Override
-    public void onTaskEdit(Task task) {
-        // A edição é tratada pelo TaskAdapter abrindo a AddEditTaskActivity
-        // Este método está aqui apenas para satisfazer a interface
+    public void onSelectionChanged(int selectedCount) {
+        if (selectedCount == 0) {
+            if (selectionActionMode != null) {
+                selectionActionMode.finish();
+            }
+            return;
+        }
+        if (selectionActionMode == null) {
+            selectionActionMode = startSupportActionMode(selectionCallback);
+        }
+        if (selectionActionMode != null) {
+            selectionActionMode.setTitle(selectedCount + " selecionada(s)");
+        }
+    }
+
+    // Ações em lote do modo de seleção múltipla: cada uma vira um único statement
+    private final ActionMode.Callback selectionCallback = new ActionMode.Callback() {
+        @Override
+        public boolean onCreateActionMode(ActionMode mode, Menu menu) {
+            mode.getMenuInflater().inflate(R.menu.selection_menu, menu);
+            return true;
+        }
+
+        @Override
+        public boolean onPrepareActionMode(ActionMode mode, Menu menu) {
+            return false;
+        }
+
+        @Override
+        public boolean onActionItemClicked(ActionMode mode, MenuItem item) {
+            int itemId = item.getItemId();
+            if (itemId == R.id.action_priority_selected) {
+                // Apenas abre o submenu de prioridades
+                return false;
+            }
+
+            List<Long> ids = taskAdapter.getSelectedIds();
+            if (itemId == R.id.action_complete_selected) {
+                taskViewModel.completeTasks(ids);
+            } else if (itemId == R.id.action_pending_selected) {
+                taskViewModel.markTasksPending(ids);
+            } else if (itemId == R.id.action_priority_high) {
+                taskViewModel.changePriority(ids, TaskPriority.HIGH);
+            } else if (itemId == R.id.action_priority_medium) {
+                taskViewModel.changePriority(ids, TaskPriority.MEDIUM);
+            } else if (itemId == R.id.action_priority_low) {
+                taskViewModel.changePriority(ids, TaskPriority.LOW);
+            } else if (itemId == R.id.action_delete_selected) {
+                confirmDeleteSelected(mode, ids);
+                return true;
+            } else {
+                return false;
+            }
+            mode.finish();
+            return true;
+        }
+
+        @Override
+        public void onDestroyActionMode(ActionMode mode) {
+            selectionActionMode = null;
+            taskAdapter.clearSelection();
+        }
+    };
+
+    private void confirmDeleteSelected(ActionMode mode, List<Long> ids) {
+        new AlertDialog.Builder(this)
+                .setTitle("Excluir Tarefas")
+                .setMessage("Tem certeza que deseja excluir " + ids.size() + " tarefa(s)?")
+                .setPositiveButton("Sim", (dialog, which) -> {
+                    taskViewModel.deleteTasks(ids);
+                    Toast.makeText(this, "Tarefas excluídas", Toast.LENGTH_SHORT).show();
+                    mode.finish();
+                })
+                .setNegativeButton("Não", null)
+                .show();
+    }
+
+    // adb shell dumpsys activity com.example.taskflow/.MainActivity: inclui as métricas (debug)
+    @Override
+    public void dump(String prefix, FileDescriptor fd, PrintWriter writer, String[] args) {
+        super.dump(prefix, fd, writer, args);
+        TaskMetrics metrics = TaskMetrics.getInstance();
+        if (metrics.isEnabled()) {
+            metrics.dump(writer);
+        }
     }
 
     @Override
-    protected void onResume() {
-        super.onResume();
-        // CORREÇÃO: Recarrega os dados quando volta para a tela
-        applyCurrentFilter();
+    public void onTaskEdit(TaskListItem task) {
+        // A edição é tratada pelo TaskAdapter abrindo a AddEditTaskActivity
+        // Este método está aqui apenas para satisfazer a interface
     }
 }
\ No newline at end of file
@@ -0,0 +1,161 @@
+package com.example.taskflow;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.text.TextUtils;
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+import com.example.taskflow.data.database.DatabaseConfig;
+import com.example.taskflow.data.database.TaskDatabase;
+import com.example.taskflow.metrics.TaskMetrics;
+import com.example.taskflow.reminder.ReminderScheduler;
+import com.example.taskflow.repository.TaskRepository;
+import com.example.taskflow.sync.HttpSyncTransport;
+import com.example.taskflow.sync.SyncEngine;
+import com.example.taskflow.util.AppExecutors;
+
+/**
+ * Ponto único de acesso ao banco e ao repositório. Todas as telas compartilham o mesmo
+ * {@link TaskRepository}, com os mesmos streams de consulta e as mesmas threads.
+ * Testes podem injetar um banco em memória com {@link #provideForTests}.
+ */
+public final class ServiceLocator {
+
+    private static final Object lock = new Object();
+    private static TaskDatabase database;
+    private static AppExecutors executors;
+    private static TaskRepository repository;
+    private static ReminderScheduler reminderScheduler;
+    private static SyncEngine syncEngine;
+    // Repassa onTrimMemory ao repositório (o app não tem classe Application própria)
+    private static Context trimContext;
+    private static ComponentCallbacks2 trimCallbacks;
+    // Executores criados pelo teste são encerrados no reset; os do app vivem com o processo
+    private static boolean ownsExecutors;
+
+    private ServiceLocator() {
+    }
+
+    public static TaskDatabase getTaskDatabase(Context context) {
+        synchronized (lock) {
+            if (database == null) {
+                // Em debug as consultas são medidas pelo TaskMetrics (ver MainActivity.dump)
+                if (BuildConfig.DEBUG) {
+                    TaskMetrics metrics = TaskMetrics.getInstance();
+                    metrics.setEnabled(true);
+                    database = TaskDatabase.getDatabase(context,
+                            new DatabaseConfig.Builder().setMetrics(metrics).build());
+                    metrics.observeInvalidations(database);
+                } else {
+                    database = TaskDatabase.getDatabase(context);
+                }
+            }
+            return database;
+        }
+    }
+
+    public static AppExecutors getExecutors() {
+        synchronized (lock) {
+            if (executors == null) {
+                executors = AppExecutors.getInstance();
+            }
+            return executors;
+        }
+    }
+
+    public static TaskRepository getTaskRepository(Context context) {
+        synchronized (lock) {
+            if (repository == null) {
+                repository = new TaskRepository(getTaskDatabase(context), getExecutors());
+                registerTrimCallbacks(context.getApplicationContext(), repository);
+            }
+            return repository;
+        }
+    }
+
+    private static void registerTrimCallbacks(Context appContext, TaskRepository target) {
+        trimCallbacks = new ComponentCallbacks2() {
+            @Override
+            public void onTrimMemory(int level) {
+                target.onTrimMemory(level);
+            }
+
+            @Override
+            public void onLowMemory() {
+                target.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+            }
+
+            @Override
+            public void onConfigurationChanged(@NonNull Configuration newConfig) {
+            }
+        };
+        trimContext = appContext;
+        appContext.registerComponentCallbacks(trimCallbacks);
+    }
+
+    public static ReminderScheduler getReminderScheduler(Context context) {
+        synchronized (lock) {
+            if (reminderScheduler == null) {
+                reminderScheduler = new ReminderScheduler(context, getTaskDatabase(context),
+                        getExecutors().writeExecutor());
+            }
+            return reminderScheduler;
+        }
+    }
+
+    // Null quando não há servidor configurado (R.string.sync_base_url vazio)
+    public static SyncEngine getSyncEngine(Context context) {
+        synchronized (lock) {
+            if (syncEngine == null) {
+                String baseUrl = context.getString(R.string.sync_base_url);
+                if (TextUtils.isEmpty(baseUrl)) {
+                    return null;
+                }
+                syncEngine = new SyncEngine(getTaskDatabase(context).syncDao(),
+                        new HttpSyncTransport(baseUrl),
+                        context.getApplicationContext().getSharedPreferences("sync",
+                                Context.MODE_PRIVATE));
+            }
+            return syncEngine;
+        }
+    }
+
+    @VisibleForTesting
+    public static void provideForTests(TaskDatabase testDatabase, AppExecutors testExecutors) {
+        synchronized (lock) {
+            reset();
+            database = testDatabase;
+            executors = testExecutors;
+            ownsExecutors = true;
+        }
+    }
+
+    // Fecha o repositório (aplicando as escritas pendentes) e o banco injetado
+    @VisibleForTesting
+    public static void reset() {
+        synchronized (lock) {
+            if (reminderScheduler != null) {
+                reminderScheduler.stop();
+                reminderScheduler = null;
+            }
+            if (repository != null) {
+                trimContext.unregisterComponentCallbacks(trimCallbacks);
+                trimContext = null;
+                trimCallbacks = null;
+                repository.close();
+                repository = null;
+            }
+            if (ownsExecutors) {
+                if (database != null) {
+                    database.close();
+                }
+                executors.shutdown();
+                ownsExecutors = false;
+            }
+            syncEngine = null;
+            database = null;
+            executors = null;
+        }
+    }
+}
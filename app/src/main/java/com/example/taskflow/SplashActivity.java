@@ -2,16 +2,19 @@ package com.example.taskflow;
 
 import android.content.Intent;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import androidx.appcompat.app.AppCompatActivity;
+import com.example.taskflow.data.database.DatabasePrewarmer;
 
 public class SplashActivity extends AppCompatActivity {
 
-    private static final int SPLASH_DURATION = 3000; // 3 segundos
+    private boolean navigated = false;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
+        // Começa a abrir o banco antes de inflar o layout, em paralelo com a UI
+        DatabasePrewarmer.start(ServiceLocator.getTaskDatabase(this),
+                ServiceLocator.getExecutors());
+
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_splash);
 
@@ -20,12 +23,15 @@ public class SplashActivity extends AppCompatActivity {
             getSupportActionBar().hide();
         }
 
-        // Delay para mostrar a splash screen e depois navegar para MainActivity
-        new Handler(Looper.getMainLooper()).postDelayed(() -> {
-            Intent intent = new Intent(SplashActivity.this, MainActivity.class);
-            startActivity(intent);
-            finish(); // Remove a SplashActivity da pilha de activities
-        }, SPLASH_DURATION);
+        // Sem tempo fixo: segue para a MainActivity assim que o banco e a primeira página estiverem prontos
+        DatabasePrewarmer.isReady().observe(this, ready -> {
+            if (Boolean.TRUE.equals(ready) && !navigated) {
+                navigated = true;
+                Intent intent = new Intent(SplashActivity.this, MainActivity.class);
+                startActivity(intent);
+                finish(); // Remove a SplashActivity da pilha de activities
+            }
+        });
     }
 
     @Override
@@ -33,4 +39,4 @@ public class SplashActivity extends AppCompatActivity {
         // Desabilita o botão voltar na splash screen
         // super.onBackPressed(); - comentado para prevenir que o usuário volte
     }
-}
\ No newline at end of file
+}
@@ -7,42 +7,103 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.CheckBox;
 import android.widget.ImageButton;
-import com.example.taskflow.data.entity.Task;
-import com.example.taskflow.data.entity.TaskPriority;
 import android.widget.PopupMenu;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.appcompat.view.ContextThemeWrapper;
+import androidx.paging.ItemSnapshotList;
+import androidx.paging.PagingDataAdapter;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.taskflow.AddEditTaskActivity;
 import com.example.taskflow.R;
-import com.example.taskflow.data.database.TaskDatabase;
+import com.example.taskflow.data.model.TaskListItem;
+import com.example.taskflow.data.model.TaskStatusUpdate;
+import com.example.taskflow.metrics.TaskMetrics;
+import com.example.taskflow.util.TaskDateLabelFormatter;
+import com.google.android.material.card.MaterialCardView;
 
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Locale;
-import java.util.TimeZone;
-import androidx.appcompat.view.ContextThemeWrapper;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import kotlinx.coroutines.Dispatchers;
+import kotlinx.coroutines.ExecutorsKt;
+
+public class TaskAdapter extends PagingDataAdapter<TaskListItem, TaskAdapter.TaskViewHolder> {
+
+    // Payload usado quando apenas o status de conclusão mudou
+    static final String PAYLOAD_STATUS = "payload_status";
+    // Payload usado quando apenas a seleção (modo de seleção múltipla) mudou
+    static final String PAYLOAD_SELECTION = "payload_selection";
+
+
+    private static final DiffUtil.ItemCallback<TaskListItem> DIFF_CALLBACK = new DiffUtil.ItemCallback<TaskListItem>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull TaskListItem oldItem, @NonNull TaskListItem newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
 
-public class TaskAdapter extends RecyclerView.Adapter<TaskAdapter.TaskViewHolder> {
+        @Override
+        public boolean areContentsTheSame(@NonNull TaskListItem oldItem, @NonNull TaskListItem newItem) {
+            return sameDetails(oldItem, newItem) && sameStatus(oldItem, newItem);
+        }
+
+        @Nullable
+        @Override
+        public Object getChangePayload(@NonNull TaskListItem oldItem, @NonNull TaskListItem newItem) {
+            // Se só o status mudou, rebinda apenas checkbox, opacidade e data
+            if (sameDetails(oldItem, newItem)) {
+                return PAYLOAD_STATUS;
+            }
+            return null;
+        }
+
+        private boolean sameDetails(TaskListItem oldItem, TaskListItem newItem) {
+            return Objects.equals(oldItem.getTitle(), newItem.getTitle())
+                    && Objects.equals(oldItem.getDescriptionPreview(), newItem.getDescriptionPreview())
+                    && oldItem.getPriority() == newItem.getPriority()
+                    && oldItem.getCreatedAt() == newItem.getCreatedAt()
+                    && oldItem.getDueAt() == newItem.getDueAt();
+        }
+
+        private boolean sameStatus(TaskListItem oldItem, TaskListItem newItem) {
+            return oldItem.isCompleted() == newItem.isCompleted()
+                    && oldItem.getCompletedAt() == newItem.getCompletedAt();
+        }
+    };
 
-    private List<Task> tasks = new ArrayList<>();
     private OnTaskActionListener listener;
     private Context context;
-    private SimpleDateFormat dateFormat;
+    private final TaskDateLabelFormatter dateLabels = TaskDateLabelFormatter.getInstance();
+    private final TaskMetrics metrics = TaskMetrics.getInstance();
+
+    // Estado do modo de seleção múltipla
+    private final Set<Long> selectedIds = new LinkedHashSet<>();
+    private boolean selectionMode = false;
+
+    // Status otimistas vindos do ViewModel, sobrepostos aos itens no bind
+    private Map<Long, TaskStatusUpdate> statusOverlay = Collections.emptyMap();
 
     public interface OnTaskActionListener {
-        void onTaskCompleteToggle(Task task);
-        void onTaskDelete(Task task);
-        void onTaskEdit(Task task);
+        void onTaskCompleteToggle(TaskListItem task);
+        void onTaskDelete(TaskListItem task);
+        void onTaskEdit(TaskListItem task);
+        void onSelectionChanged(int selectedCount);
     }
 
-    public TaskAdapter(Context context) {
+    // diffExecutor: onde o diff das listas roda, fora da main thread (no app, a thread de
+    // background do ServiceLocator)
+    public TaskAdapter(Context context, Executor diffExecutor) {
+        super(DIFF_CALLBACK, Dispatchers.getMain(), ExecutorsKt.from(diffExecutor));
         this.context = context;
-        // CORREÇÃO: Configurar formato de data com timezone brasileiro
-        this.dateFormat = new SimpleDateFormat("dd/MM/yyyy HH:mm", new Locale("pt", "BR"));
-        this.dateFormat.setTimeZone(TimeZone.getTimeZone("America/Sao_Paulo"));
+        // PagingDataAdapter não aceita stable ids; a identidade fica a cargo do DIFF_CALLBACK
     }
 
     public void setOnTaskActionListener(OnTaskActionListener listener) {
@@ -59,18 +120,124 @@ public class TaskAdapter extends RecyclerView.Adapter<TaskAdapter.TaskViewHolder
 
     @Override
     public void onBindViewHolder(@NonNull TaskViewHolder holder, int position) {
-        Task task = tasks.get(position);
-        holder.bind(task);
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+        // getItem também sinaliza ao Paging qual posição está visível
+        TaskListItem task = withStatusOverlay(getItem(position));
+        if (task != null) {
+            holder.bind(task);
+        }
+        if (start != 0) {
+            metrics.recordBind(System.nanoTime() - start);
+        }
     }
 
     @Override
-    public int getItemCount() {
-        return tasks.size();
+    public void onBindViewHolder(@NonNull TaskViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+        TaskListItem task = withStatusOverlay(getItem(position));
+        if (task == null) {
+            return;
+        }
+        for (Object payload : payloads) {
+            if (PAYLOAD_STATUS.equals(payload)) {
+                holder.bindStatus(task);
+            } else if (PAYLOAD_SELECTION.equals(payload)) {
+                holder.bindSelection(task);
+            }
+        }
+        if (start != 0) {
+            metrics.recordBind(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Atualiza o overlay otimista e rebinda só o status dos itens carregados que mudaram,
+     * sem esperar a nova consulta do Room.
+     */
+    public void setStatusOverlay(Map<Long, TaskStatusUpdate> overlay) {
+        Map<Long, TaskStatusUpdate> previous = statusOverlay;
+        statusOverlay = overlay;
+
+        Set<Long> changedIds = new HashSet<>();
+        for (Map.Entry<Long, TaskStatusUpdate> entry : overlay.entrySet()) {
+            if (previous.get(entry.getKey()) != entry.getValue()) {
+                changedIds.add(entry.getKey());
+            }
+        }
+        for (Long id : previous.keySet()) {
+            if (!overlay.containsKey(id)) {
+                changedIds.add(id);
+            }
+        }
+        if (changedIds.isEmpty()) {
+            return;
+        }
+
+        // O snapshot inclui os placeholders, então o índice é a posição no adapter
+        ItemSnapshotList<TaskListItem> items = snapshot();
+        for (int position = 0; position < items.size(); position++) {
+            TaskListItem item = items.get(position);
+            if (item != null && changedIds.contains(item.getId())) {
+                notifyItemChanged(position, PAYLOAD_STATUS);
+            }
+        }
+    }
+
+    // Item como deve ser exibido: o status pendente no overlay vale sobre o do banco
+    @Nullable
+    TaskListItem withStatusOverlay(@Nullable TaskListItem item) {
+        if (item == null) {
+            return null;
+        }
+        TaskStatusUpdate pending = statusOverlay.get(item.getId());
+        if (pending == null || (pending.isCompleted() == item.isCompleted()
+                && pending.getCompletedAt() == item.getCompletedAt())) {
+            return item;
+        }
+        return item.withStatus(pending.isCompleted(), pending.getCompletedAt());
+    }
+
+    public boolean isSelectionMode() {
+        return selectionMode;
+    }
+
+    public List<Long> getSelectedIds() {
+        return new ArrayList<>(selectedIds);
+    }
+
+    public void startSelection(TaskListItem task, int position) {
+        if (!selectionMode) {
+            selectionMode = true;
+            // Todos os itens precisam desabilitar o checkbox de conclusão
+            notifyItemRangeChanged(0, getItemCount(), PAYLOAD_SELECTION);
+        }
+        toggleSelection(task, position);
+    }
+
+    public void clearSelection() {
+        if (!selectionMode) {
+            return;
+        }
+        selectionMode = false;
+        selectedIds.clear();
+        notifyItemRangeChanged(0, getItemCount(), PAYLOAD_SELECTION);
+        if (listener != null) {
+            listener.onSelectionChanged(0);
+        }
     }
 
-    public void setTasks(List<Task> tasks) {
-        this.tasks = tasks;
-        notifyDataSetChanged();
+    private void toggleSelection(TaskListItem task, int position) {
+        if (!selectedIds.remove(task.getId())) {
+            selectedIds.add(task.getId());
+        }
+        notifyItemChanged(position, PAYLOAD_SELECTION);
+        if (listener != null) {
+            listener.onSelectionChanged(selectedIds.size());
+        }
     }
 
     class TaskViewHolder extends RecyclerView.ViewHolder {
@@ -87,32 +254,65 @@ public class TaskAdapter extends RecyclerView.Adapter<TaskAdapter.TaskViewHolder
             checkboxCompleted = itemView.findViewById(R.id.checkbox_completed);
             btnMenu = itemView.findViewById(R.id.btn_menu);
             priorityIndicator = itemView.findViewById(R.id.priority_indicator);
+
+            // Os listeners buscam a tarefa atual pela posição, assim um bind
+            // parcial não deixa o listener apontando para uma instância antiga
+            checkboxCompleted.setOnClickListener(v -> {
+                TaskListItem task = getCurrentTask();
+                if (task != null && listener != null) {
+                    listener.onTaskCompleteToggle(task);
+                }
+            });
+
+            // Listener para o menu
+            btnMenu.setOnClickListener(v -> {
+                TaskListItem task = getCurrentTask();
+                if (task != null) {
+                    showPopupMenu(v, task);
+                }
+            });
+
+            // No modo de seleção, o toque no item marca/desmarca a tarefa
+            itemView.setOnClickListener(v -> {
+                TaskListItem task = getCurrentTask();
+                if (task != null && selectionMode) {
+                    toggleSelection(task, getBindingAdapterPosition());
+                }
+            });
+
+            // Listener para clique longo no item (edição rápida)
+            itemView.setOnLongClickListener(v -> {
+                TaskListItem task = getCurrentTask();
+                if (task != null) {
+                    if (selectionMode) {
+                        toggleSelection(task, getBindingAdapterPosition());
+                    } else {
+                        openEditActivity(task);
+                    }
+                }
+                return true;
+            });
+        }
+
+        @Nullable
+        private TaskListItem getCurrentTask() {
+            int position = getBindingAdapterPosition();
+            // peek não dispara carregamento de páginas; o toggle parte do status exibido
+            return position == RecyclerView.NO_POSITION ? null : withStatusOverlay(peek(position));
         }
 
-        public void bind(Task task) {
+        public void bind(TaskListItem task) {
             tvTaskTitle.setText(task.getTitle());
 
-            // Mostra ou esconde descrição
-            if (task.getDescription() != null && !task.getDescription().isEmpty()) {
-                tvTaskDescription.setText(task.getDescription());
+            // Mostra ou esconde a prévia da descrição (já truncada na consulta)
+            String description = task.getDescriptionPreview();
+            if (description != null && !description.isEmpty()) {
+                tvTaskDescription.setText(description);
                 tvTaskDescription.setVisibility(View.VISIBLE);
             } else {
                 tvTaskDescription.setVisibility(View.GONE);
             }
 
-            // CORREÇÃO: Formatação de data com timezone correto
-            if (task.isCompleted() && task.getCompletedAt() != null) {
-                tvTaskDate.setText("Concluída em: " + dateFormat.format(task.getCompletedAt()));
-            } else {
-                tvTaskDate.setText("Criada em: " + dateFormat.format(task.getCreatedAt()));
-            }
-
-            // Define status de completado
-            checkboxCompleted.setChecked(task.isCompleted());
-
-            // Ajusta opacidade para tarefas concluídas
-            itemView.setAlpha(task.isCompleted() ? 0.6f : 1.0f);
-
             // Define cor do indicador de prioridade
             int priorityColor;
             switch (task.getPriority()) {
@@ -127,26 +327,32 @@ public class TaskAdapter extends RecyclerView.Adapter<TaskAdapter.TaskViewHolder
             }
             priorityIndicator.setBackgroundColor(priorityColor);
 
-            // Listener para o checkbox
-            checkboxCompleted.setOnClickListener(v -> {
-                if (listener != null) {
-                    listener.onTaskCompleteToggle(task);
-                }
-            });
+            bindStatus(task);
+            bindSelection(task);
+        }
 
-            // Listener para o menu
-            btnMenu.setOnClickListener(v -> showPopupMenu(v, task));
+        // Bind parcial: destaque do item no modo de seleção múltipla
+        void bindSelection(TaskListItem task) {
+            ((MaterialCardView) itemView).setChecked(selectedIds.contains(task.getId()));
+            checkboxCompleted.setEnabled(!selectionMode);
+            btnMenu.setEnabled(!selectionMode);
+        }
 
-            // Listener para clique longo no item (edição rápida)
-            itemView.setOnLongClickListener(v -> {
-                openEditActivity(task);
-                return true;
-            });
+        // Bind parcial: apenas o que depende do status de conclusão
+        void bindStatus(TaskListItem task) {
+            // Rótulo já formatado (timezone de São Paulo) junto com o diff da lista
+            tvTaskDate.setText(dateLabels.getLabel(task));
+
+            // Define status de completado
+            checkboxCompleted.setChecked(task.isCompleted());
+
+            // Ajusta opacidade para tarefas concluídas
+            itemView.setAlpha(task.isCompleted() ? 0.6f : 1.0f);
         }
 
         // Substitua o método showPopupMenu na classe TaskAdapter.java
 
-        private void showPopupMenu(View view, Task task) {
+        private void showPopupMenu(View view, TaskListItem task) {
             // Criar ContextThemeWrapper para forçar tema claro
             ContextThemeWrapper wrapper = new ContextThemeWrapper(view.getContext(), R.style.PopupMenuTheme);
             PopupMenu popup = new PopupMenu(wrapper, view);
@@ -175,6 +381,9 @@ public class TaskAdapter extends RecyclerView.Adapter<TaskAdapter.TaskViewHolder
                         listener.onTaskCompleteToggle(task);
                     }
                     return true;
+                } else if (itemId == R.id.action_select) {
+                    startSelection(task, getBindingAdapterPosition());
+                    return true;
                 }
                 return false;
             });
@@ -182,13 +391,11 @@ public class TaskAdapter extends RecyclerView.Adapter<TaskAdapter.TaskViewHolder
             popup.show();
         }
 
-        private void openEditActivity(Task task) {
+        private void openEditActivity(TaskListItem task) {
             Intent intent = new Intent(context, AddEditTaskActivity.class);
+            // A tela de edição carrega a linha completa pelo id
             intent.putExtra(AddEditTaskActivity.EXTRA_TASK_ID, task.getId());
-            intent.putExtra(AddEditTaskActivity.EXTRA_TASK_TITLE, task.getTitle());
-            intent.putExtra(AddEditTaskActivity.EXTRA_TASK_DESCRIPTION, task.getDescription());
-            intent.putExtra(AddEditTaskActivity.EXTRA_TASK_PRIORITY, task.getPriority().name());
             context.startActivity(intent);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,157 @@
+package com.example.taskflow.backup;
+
+import com.example.taskflow.data.dao.TaskDao;
+import com.example.taskflow.data.database.TaskDatabase;
+import com.example.taskflow.data.entity.Task;
+import com.example.taskflow.data.model.SyncRecord;
+import com.example.taskflow.sync.SyncJson;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Backup das tarefas em JSON Lines: uma linha de cabeçalho e depois uma tarefa por linha,
+ * no mesmo formato compacto da sincronização ({@link SyncJson}).
+ *
+ * A exportação lê a tabela em blocos por chave (id > último id lido) e a importação grava
+ * em transações de {@link #CHUNK_SIZE} linhas, então a memória usada não depende do número
+ * de tarefas. Os canais não são fechados aqui; quem os abriu fecha.
+ */
+public class TaskBackup {
+
+    public static final int CHUNK_SIZE = 500;
+
+    private static final String FORMAT = "taskflow-tasks";
+    private static final int VERSION = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Chamado na thread do backup a cada bloco; total é estimado pelo cabeçalho
+    public interface ProgressListener {
+        void onProgress(long done, long total);
+    }
+
+    private final TaskDatabase database;
+    private final TaskDao taskDao;
+
+    public TaskBackup(TaskDatabase database) {
+        this.database = database;
+        this.taskDao = database.taskDao();
+    }
+
+    // Retorna quantas tarefas foram escritas
+    public long exportTo(WritableByteChannel channel, ProgressListener listener)
+            throws IOException {
+        // O total é só para o progresso: escritas durante a exportação podem alterá-lo
+        long total = taskDao.countTasks();
+        Writer writer = new BufferedWriter(
+                Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), -1), BUFFER_SIZE);
+        writer.write(header(total));
+        writer.write('\n');
+
+        long written = 0;
+        long lastId = 0;
+        while (true) {
+            List<Task> chunk = taskDao.loadChunkAfter(lastId, CHUNK_SIZE);
+            for (Task task : chunk) {
+                writer.write(SyncJson.encodeRecord(SyncRecord.fromTask(task)));
+                writer.write('\n');
+            }
+            written += chunk.size();
+            listener.onProgress(written, Math.max(total, written));
+            if (chunk.size() < CHUNK_SIZE) {
+                break;
+            }
+            lastId = chunk.get(chunk.size() - 1).getId();
+        }
+        writer.flush();
+        return written;
+    }
+
+    /**
+     * Importa um backup gerado por {@link #exportTo}. Tarefas cujo uid já existe são
+     * mantidas como estão, então importar o mesmo arquivo de novo não duplica nada.
+     * Se a leitura falhar no meio, os blocos já gravados ficam no banco.
+     * Retorna quantas tarefas foram inseridas.
+     */
+    public long importFrom(ReadableByteChannel channel, ProgressListener listener)
+            throws IOException {
+        BufferedReader reader = new BufferedReader(
+                Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), -1), BUFFER_SIZE);
+        long total = readHeader(reader.readLine());
+
+        List<Task> batch = new ArrayList<>(CHUNK_SIZE);
+        long read = 0;
+        long inserted = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            SyncRecord record = SyncJson.decodeRecord(line);
+            Task task = new Task(record.getTitle(), record.getDescription(), record.getPriority());
+            record.applyTo(task);
+            batch.add(task);
+            read++;
+            if (batch.size() == CHUNK_SIZE) {
+                inserted += insertBatch(batch);
+                listener.onProgress(read, Math.max(total, read));
+            }
+        }
+        if (!batch.isEmpty()) {
+            inserted += insertBatch(batch);
+        }
+        listener.onProgress(read, read);
+        return inserted;
+    }
+
+    // Uma transação por bloco: uma invalidação da lista e um fsync por bloco, não por linha
+    private int insertBatch(List<Task> batch) {
+        List<Long> ids = database.runInTransaction(
+                () -> taskDao.insertAllIgnoringExisting(batch));
+        batch.clear();
+        int inserted = 0;
+        for (long id : ids) {
+            if (id != -1) {
+                inserted++;
+            }
+        }
+        return inserted;
+    }
+
+    private static String header(long total) throws IOException {
+        try {
+            return new JSONObject()
+                    .put("format", FORMAT)
+                    .put("version", VERSION)
+                    .put("count", total)
+                    .toString();
+        } catch (JSONException e) {
+            throw new IOException("Falha ao gerar cabeçalho", e);
+        }
+    }
+
+    private static long readHeader(String line) throws IOException {
+        if (line == null) {
+            throw new IOException("Arquivo de backup vazio");
+        }
+        try {
+            JSONObject header = new JSONObject(line);
+            if (!FORMAT.equals(header.optString("format"))
+                    || header.optInt("version") > VERSION) {
+                throw new IOException("Arquivo não é um backup do TaskFlow compatível");
+            }
+            return header.optLong("count");
+        } catch (JSONException e) {
+            throw new IOException("Cabeçalho de backup inválido", e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.taskflow.data.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.Query;
+import androidx.room.Transaction;
+import androidx.room.Update;
+import com.example.taskflow.data.entity.Task;
+import com.example.taskflow.data.entity.TaskChange;
+import com.example.taskflow.data.model.SyncRecord;
+import java.util.List;
+
+// Consultas da sincronização: log de mudanças locais e aplicação das mudanças remotas
+@Dao
+public interface SyncDao {
+
+    // Mudanças pendentes em ordem de revisão, lidas em lotes
+    @Query("SELECT * FROM task_changes ORDER BY revision LIMIT :limit")
+    List<TaskChange> loadChanges(int limit);
+
+    @Query("SELECT * FROM task_changes WHERE uid = :uid")
+    TaskChange getChange(String uid);
+
+    @Query("SELECT COALESCE(MAX(revision), 0) FROM task_changes")
+    long getLastRevision();
+
+    // Remove o que já foi enviado; mudanças feitas durante o envio têm revisão maior e ficam
+    @Query("DELETE FROM task_changes WHERE revision <= :revision")
+    int deleteChangesUpTo(long revision);
+
+    @Query("DELETE FROM task_changes WHERE revision > :revision")
+    int deleteChangesAfter(long revision);
+
+    @Query("SELECT * FROM tasks WHERE uid IN (:uids)")
+    List<Task> loadByUids(List<String> uids);
+
+    @Query("SELECT * FROM tasks WHERE uid = :uid")
+    Task findByUid(String uid);
+
+    @Insert
+    long insert(Task task);
+
+    @Update
+    void update(Task task);
+
+    @Query("DELETE FROM tasks WHERE uid = :uid")
+    int deleteByUid(String uid);
+
+    /**
+     * Aplica um lote recebido do servidor numa única transação, com last-writer-wins por
+     * updatedAt. Os triggers registram essas escritas em task_changes; como elas vieram do
+     * servidor, as entradas criadas aqui são removidas antes do commit para não voltarem
+     * no próximo envio. Retorna quantas tarefas mudaram.
+     */
+    @Transaction
+    default int applyRemoteChanges(List<SyncRecord> records) {
+        long lastLocalRevision = getLastRevision();
+        int applied = 0;
+        for (SyncRecord record : records) {
+            Task local = findByUid(record.getUid());
+            if (local == null) {
+                // Exclusão local mais recente que o registro remoto ainda vence
+                TaskChange change = getChange(record.getUid());
+                boolean deletedLocally = change != null && change.isDeleted()
+                        && change.getChangedAt() >= record.getUpdatedAt();
+                if (!record.isDeleted() && !deletedLocally) {
+                    Task task = new Task(record.getTitle(), record.getDescription(),
+                            record.getPriority());
+                    record.applyTo(task);
+                    insert(task);
+                    applied++;
+                }
+            } else if (record.getUpdatedAt() > local.getUpdatedAt()) {
+                if (record.isDeleted()) {
+                    deleteByUid(record.getUid());
+                } else {
+                    record.applyTo(local);
+                    update(local);
+                }
+                applied++;
+            }
+        }
+        deleteChangesAfter(lastLocalRevision);
+        return applied;
+    }
+}
@@ -1,18 +1,40 @@
 package com.example.taskflow.data.dao;
 
 import androidx.lifecycle.LiveData;
+import androidx.paging.PagingSource;
 import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.RawQuery;
+import androidx.room.Transaction;
 import androidx.room.Update;
+import androidx.sqlite.db.SupportSQLiteQuery;
 import com.example.taskflow.data.entity.Task;
 import com.example.taskflow.data.entity.TaskPriority;
+import com.example.taskflow.data.model.TaskDetailsUpdate;
+import com.example.taskflow.data.model.TaskListItem;
+import com.example.taskflow.data.model.TaskReminder;
+import com.example.taskflow.data.model.TaskStats;
+import com.example.taskflow.data.model.TaskStatusUpdate;
+import com.example.taskflow.data.model.TaskVersion;
+import io.reactivex.rxjava3.core.Flowable;
+import java.util.Collections;
 import java.util.List;
 
 @Dao
 public interface TaskDao {
 
+    // Colunas da projeção TaskListItem; a descrição vem truncada para a prévia do item
+    String LIST_COLUMNS = "tasks.id, tasks.title, "
+            + "substr(tasks.description, 1, " + TaskListItem.DESCRIPTION_PREVIEW_LENGTH + ") "
+            + "AS descriptionPreview, tasks.priority, tasks.isCompleted, tasks.createdAt, "
+            + "tasks.completedAt, tasks.dueAt";
+
+    // Limite de ids por statement IN (...), abaixo do máximo de variáveis do SQLite
+    int MAX_IDS_PER_STATEMENT = 500;
+
     @Insert
     long insert(Task task);
 
@@ -22,18 +44,205 @@ public interface TaskDao {
     @Delete
     void delete(Task task);
 
+    @Insert
+    List<Long> insertAll(List<Task> tasks);
+
+    // Importação: tarefas cujo uid já existe são ignoradas (-1 no resultado)
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    List<Long> insertAllIgnoringExisting(List<Task> tasks);
+
+    @Update
+    void updateAll(List<Task> tasks);
+
+    @Delete
+    void deleteAll(List<Task> tasks);
+
+    // Grava só isCompleted/completedAt, sem reescrever título e descrição
+    @Update(entity = Task.class)
+    void updateStatus(List<TaskStatusUpdate> updates);
+
+    /**
+     * Grava só os campos que a edição alterou, preservando createdAt e o status de conclusão.
+     * Um statement por coluna alterada, todos na mesma transação (uma invalidação).
+     */
+    @Transaction
+    default void updateDetails(TaskDetailsUpdate update) {
+        long id = update.getId();
+        long updatedAt = update.getUpdatedAt();
+        if (update.isTitleChanged()) {
+            updateTitle(id, update.getTitle(), updatedAt);
+        }
+        if (update.isDescriptionChanged()) {
+            updateDescription(id, update.getDescription(), updatedAt);
+        }
+        if (update.isPriorityChanged()) {
+            updatePriority(Collections.singletonList(id), update.getPriority(),
+                    update.getPriorityRank(), updatedAt);
+        }
+        if (update.isDueAtChanged()) {
+            updateDueAt(id, update.getDueAt(), updatedAt);
+        }
+    }
+
+    @Query("UPDATE tasks SET title = :title, updatedAt = :updatedAt WHERE id = :id")
+    int updateTitle(long id, String title, long updatedAt);
+
+    @Query("UPDATE tasks SET description = :description, updatedAt = :updatedAt WHERE id = :id")
+    int updateDescription(long id, String description, long updatedAt);
+
+    @Query("UPDATE tasks SET dueAt = :dueAt, updatedAt = :updatedAt WHERE id = :id")
+    int updateDueAt(long id, long dueAt, long updatedAt);
+
+    // Aplica um lote da fila de escrita numa única transação (uma invalidação)
+    @Transaction
+    default void applyBatch(List<Task> inserts, List<Task> updates,
+                            List<TaskStatusUpdate> statusUpdates, List<Long> deleteIds,
+                            long deletedAt) {
+        if (!inserts.isEmpty()) {
+            insertAll(inserts);
+        }
+        if (!updates.isEmpty()) {
+            updateAll(updates);
+        }
+        if (!statusUpdates.isEmpty()) {
+            updateStatus(statusUpdates);
+        }
+        for (int start = 0; start < deleteIds.size(); start += MAX_IDS_PER_STATEMENT) {
+            deleteByIds(deleteIds.subList(start,
+                    Math.min(start + MAX_IDS_PER_STATEMENT, deleteIds.size())), deletedAt);
+        }
+    }
+
+    // Operações em lote: um único statement para várias tarefas
+    @Query("UPDATE tasks SET isCompleted = 1, completedAt = :completedAt, "
+            + "updatedAt = :completedAt WHERE id IN (:ids)")
+    int markCompleted(List<Long> ids, long completedAt);
+
+    @Query("UPDATE tasks SET isCompleted = 0, completedAt = 0, updatedAt = :updatedAt "
+            + "WHERE id IN (:ids)")
+    int markPending(List<Long> ids, long updatedAt);
+
+    @Query("UPDATE tasks SET priority = :priority, priorityRank = :priorityRank, "
+            + "updatedAt = :updatedAt WHERE id IN (:ids)")
+    int updatePriority(List<Long> ids, TaskPriority priority, int priorityRank, long updatedAt);
+
+    /**
+     * Exclusão com o horário do app: o trigger registra a exclusão 1 ms depois do updatedAt
+     * da linha removida, então ele é carimbado antes do DELETE. Sem carimbo (as variantes
+     * abaixo), a exclusão fica logo depois da última alteração da tarefa.
+     */
+    @Transaction
+    default int deleteByIds(List<Long> ids, long deletedAt) {
+        stampDeletion(ids, deletedAt);
+        return deleteByIds(ids);
+    }
+
+    @Transaction
+    default int deleteCompleted(long deletedAt) {
+        stampCompletedDeletion(deletedAt);
+        return deleteCompleted();
+    }
+
+    @Query("UPDATE tasks SET updatedAt = MAX(updatedAt, :deletedAt - 1) WHERE id IN (:ids)")
+    int stampDeletion(List<Long> ids, long deletedAt);
+
+    @Query("UPDATE tasks SET updatedAt = MAX(updatedAt, :deletedAt - 1) WHERE isCompleted = 1")
+    int stampCompletedDeletion(long deletedAt);
+
+    @Query("DELETE FROM tasks WHERE id IN (:ids)")
+    int deleteByIds(List<Long> ids);
+
+    @Query("DELETE FROM tasks WHERE isCompleted = 1")
+    int deleteCompleted();
+
+    // Paginação por chave (id > último lido) para exportar sem OFFSET e sem carregar tudo
+    @Query("SELECT * FROM tasks WHERE id > :afterId ORDER BY id LIMIT :limit")
+    List<Task> loadChunkAfter(long afterId, int limit);
+
+    @Query("SELECT COUNT(*) FROM tasks")
+    int countTasks();
+
+    // Linha completa, carregada sob demanda (ex.: tela de edição) quando não está no cache
+    @Query("SELECT * FROM tasks WHERE id = :id")
+    Task loadById(long id);
+
+    // Validação do cache do repositório: busca pela chave primária, só id e updatedAt
+    @Query("SELECT id, updatedAt FROM tasks WHERE id IN (:ids)")
+    List<TaskVersion> loadVersions(List<Long> ids);
+
     @Query("SELECT * FROM tasks ORDER BY createdAt DESC")
     LiveData<List<Task>> getAllTasks();
 
     @Query("SELECT * FROM tasks WHERE isCompleted = :isCompleted ORDER BY createdAt DESC")
     LiveData<List<Task>> getTasksByStatus(boolean isCompleted);
 
-    @Query("SELECT * FROM tasks WHERE priority = :priority ORDER BY createdAt DESC")
-    LiveData<List<Task>> getTasksByPriority(TaskPriority priority);
+    @Query("SELECT * FROM tasks WHERE priorityRank = :priorityRank ORDER BY createdAt DESC")
+    LiveData<List<Task>> getTasksByPriority(int priorityRank);
+
+    // Leitura direta da primeira página, sem LiveData (threads de background)
+    @Query("SELECT * FROM tasks WHERE isCompleted = :isCompleted ORDER BY createdAt DESC LIMIT :limit")
+    List<Task> loadTasksByStatus(boolean isCompleted, int limit);
+
+    // Primeira página da lista sem filtro, lida direto (aquecimento na splash)
+    @Query("SELECT " + LIST_COLUMNS + " FROM tasks ORDER BY createdAt DESC LIMIT :limit")
+    List<TaskListItem> loadFirstPage(int limit);
+
+    // Lista paginada para um filtro + ordenação (TaskListQuery); carrega só as páginas
+    // visíveis, já na projeção do item
+    @RawQuery(observedEntities = Task.class)
+    PagingSource<Integer, TaskListItem> getTasksPaged(SupportSQLiteQuery query);
+
+    // Janelas de prazo: range scan em index_tasks_isCompleted_dueAt, já na ordem do índice.
+    // Prazo 0 (sem prazo) fica fora porque as janelas sempre começam depois dele
+    @Query("SELECT " + LIST_COLUMNS + " FROM tasks WHERE isCompleted = 0 "
+            + "AND dueAt >= :from AND dueAt < :to ORDER BY dueAt")
+    PagingSource<Integer, TaskListItem> getTasksDueBetweenPaged(long from, long to);
+
+    @Query("SELECT " + LIST_COLUMNS + " FROM tasks WHERE isCompleted = 0 "
+            + "AND dueAt > 0 AND dueAt < :now ORDER BY dueAt")
+    PagingSource<Integer, TaskListItem> getOverdueTasksPaged(long now);
+
+    // Próximos lembretes depois de :after; lê só :limit linhas do índice, nunca a tabela toda
+    @Query("SELECT id, title, dueAt FROM tasks WHERE isCompleted = 0 AND dueAt > :after "
+            + "ORDER BY dueAt LIMIT :limit")
+    List<TaskReminder> loadNextReminders(long after, int limit);
+
+    @Query("SELECT id, title, dueAt FROM tasks WHERE id = :id AND isCompleted = 0")
+    TaskReminder loadPendingReminder(long id);
+
+    // Busca textual via tasks_fts: acertos no título primeiro, depois os mais recentes.
+    // As expressões MATCH vêm de TaskSearchQuery
+    @Query("SELECT " + LIST_COLUMNS + " FROM tasks JOIN tasks_fts ON tasks.id = tasks_fts.rowid "
+            + "WHERE tasks_fts MATCH :match "
+            + "ORDER BY CASE WHEN tasks.id IN "
+            + "(SELECT rowid FROM tasks_fts WHERE tasks_fts MATCH :titleMatch) THEN 0 ELSE 1 END, "
+            + "tasks.createdAt DESC")
+    PagingSource<Integer, TaskListItem> searchPaged(String match, String titleMatch);
+
+    @Query("SELECT tasks.* FROM tasks JOIN tasks_fts ON tasks.id = tasks_fts.rowid "
+            + "WHERE tasks_fts MATCH :match "
+            + "ORDER BY CASE WHEN tasks.id IN "
+            + "(SELECT rowid FROM tasks_fts WHERE tasks_fts MATCH :titleMatch) THEN 0 ELSE 1 END, "
+            + "tasks.createdAt DESC "
+            + "LIMIT :limit")
+    List<Task> search(String match, String titleMatch, int limit);
 
     @Query("SELECT COUNT(*) FROM tasks WHERE isCompleted = 0")
     LiveData<Integer> getPendingTasksCount();
 
     @Query("SELECT COUNT(*) FROM tasks WHERE isCompleted = 1")
     LiveData<Integer> getCompletedTasksCount();
+
+    // Todos os contadores do dashboard numa única passada pela tabela; emite a cada mudança.
+    // Prioridade pelo priorityRank (3 = HIGH, 2 = MEDIUM, 1 = LOW); atrasadas em relação a :now
+    @Query("SELECT "
+            + "COALESCE(SUM(CASE WHEN isCompleted = 0 THEN 1 ELSE 0 END), 0) AS pendingCount, "
+            + "COALESCE(SUM(CASE WHEN isCompleted = 1 THEN 1 ELSE 0 END), 0) AS completedCount, "
+            + "COALESCE(SUM(CASE WHEN isCompleted = 0 AND dueAt > 0 AND dueAt < :now "
+            + "THEN 1 ELSE 0 END), 0) AS overdueCount, "
+            + "COALESCE(SUM(CASE WHEN priorityRank = 3 THEN 1 ELSE 0 END), 0) AS highPriorityCount, "
+            + "COALESCE(SUM(CASE WHEN priorityRank = 2 THEN 1 ELSE 0 END), 0) AS mediumPriorityCount, "
+            + "COALESCE(SUM(CASE WHEN priorityRank = 1 THEN 1 ELSE 0 END), 0) AS lowPriorityCount "
+            + "FROM tasks")
+    Flowable<TaskStats> observeTaskStats(long now);
 }
\ No newline at end of file
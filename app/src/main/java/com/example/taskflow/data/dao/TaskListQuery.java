@@ -0,0 +1,56 @@
+package com.example.taskflow.data.dao;
+
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import com.example.taskflow.data.entity.TaskPriority;
+import com.example.taskflow.data.model.TaskFilter;
+import com.example.taskflow.data.model.TaskSort;
+
+/**
+ * Monta a consulta da lista para um filtro e uma ordenação, usada com
+ * {@link TaskDao#getTasksPaged}. Cada ORDER BY segue exatamente as colunas de um índice de
+ * tasks (na mesma direção), então o SQLite percorre o índice em vez de ordenar a tabela.
+ * Os filtros de prazo têm consultas próprias, ordenadas por dueAt.
+ */
+public final class TaskListQuery {
+
+    private TaskListQuery() {
+    }
+
+    public static SimpleSQLiteQuery build(TaskFilter filter, TaskSort sort) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(TaskDao.LIST_COLUMNS)
+                .append(" FROM tasks");
+        Object[] args;
+        switch (filter) {
+            case ALL:
+                args = new Object[0];
+                break;
+            case PENDING:
+            case COMPLETED:
+                sql.append(" WHERE isCompleted = ?");
+                args = new Object[]{filter == TaskFilter.COMPLETED ? 1 : 0};
+                break;
+            case HIGH_PRIORITY:
+                sql.append(" WHERE priorityRank = ?");
+                args = new Object[]{TaskPriority.HIGH.getRank()};
+                break;
+            default:
+                throw new IllegalArgumentException("Filtro com consulta própria: " + filter);
+        }
+        sql.append(" ORDER BY ").append(orderBy(sort));
+        return new SimpleSQLiteQuery(sql.toString(), args);
+    }
+
+    private static String orderBy(TaskSort sort) {
+        switch (sort) {
+            case OLDEST:
+                return "createdAt ASC";
+            case PRIORITY:
+                return "priorityRank DESC, createdAt DESC";
+            case RECENTLY_COMPLETED:
+                // Concluídas primeiro (mais recentes no topo), depois as pendentes
+                return "isCompleted DESC, completedAt DESC, createdAt DESC";
+            default:
+                return "createdAt DESC";
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.taskflow.data.dao;
+
+import java.util.Locale;
+
+// Converte o texto digitado pelo usuário numa expressão MATCH do FTS4
+public final class TaskSearchQuery {
+
+    private TaskSearchQuery() {
+    }
+
+    /**
+     * Cada palavra vira um termo com prefixo ("tar" encontra "tarefa") e todas precisam
+     * aparecer. Pontuação e operadores do FTS são descartados. Retorna null se não
+     * sobrar nenhum termo.
+     */
+    public static String toMatchExpression(String rawQuery) {
+        return build(rawQuery, "");
+    }
+
+    // Mesma expressão, restrita à coluna title; usada para ranquear acertos no título
+    public static String toTitleMatchExpression(String rawQuery) {
+        return build(rawQuery, "title:");
+    }
+
+    private static String build(String rawQuery, String columnPrefix) {
+        if (rawQuery == null) {
+            return null;
+        }
+        StringBuilder match = new StringBuilder();
+        for (String term : rawQuery.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (term.isEmpty()) {
+                continue;
+            }
+            if (match.length() > 0) {
+                match.append(' ');
+            }
+            match.append(columnPrefix).append(term).append('*');
+        }
+        return match.length() == 0 ? null : match.toString();
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.taskflow.data.database;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.RoomDatabase;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import com.example.taskflow.metrics.TaskMetrics;
+import com.example.taskflow.util.AppExecutors;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * Configuração de abertura do {@link TaskDatabase}: executores do Room, modo de journal,
+ * PRAGMAs do SQLite e, opcionalmente, a medição das consultas.
+ *
+ * Os PRAGMAs são aplicados no onOpen do Room, que só vê a conexão principal (a das escritas e
+ * transações). No WAL as leituras fora de transação usam as conexões secundárias do pool, que
+ * ficam com os padrões do SQLite: cache_size e mmap_size valem só para a principal, e
+ * synchronous (que só afeta commits) vale para todas as escritas.
+ */
+public final class DatabaseConfig {
+
+    // Valores de PRAGMA synchronous
+    public enum Synchronous { OFF, NORMAL, FULL }
+
+    public static final String DEFAULT_NAME = "task_database";
+
+    private final String name;
+    private final Executor queryExecutor;
+    private final Executor transactionExecutor;
+    private final RoomDatabase.JournalMode journalMode;
+    private final int cacheSizeKib;
+    private final Synchronous synchronous;
+    private final long mmapSizeBytes;
+    private final TaskMetrics metrics;
+
+    private DatabaseConfig(Builder builder) {
+        name = builder.name;
+        queryExecutor = builder.queryExecutor;
+        transactionExecutor = builder.transactionExecutor;
+        journalMode = builder.journalMode;
+        cacheSizeKib = builder.cacheSizeKib;
+        synchronous = builder.synchronous;
+        mmapSizeBytes = builder.mmapSizeBytes;
+        metrics = builder.metrics;
+    }
+
+    // WAL com synchronous=NORMAL: commits sem fsync por transação, ainda seguros contra crash do app
+    public static DatabaseConfig defaults() {
+        return new Builder().build();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Executor getQueryExecutor() {
+        return queryExecutor;
+    }
+
+    public Executor getTransactionExecutor() {
+        return transactionExecutor;
+    }
+
+    public RoomDatabase.JournalMode getJournalMode() {
+        return journalMode;
+    }
+
+    public int getCacheSizeKib() {
+        return cacheSizeKib;
+    }
+
+    public Synchronous getSynchronous() {
+        return synchronous;
+    }
+
+    public long getMmapSizeBytes() {
+        return mmapSizeBytes;
+    }
+
+    @Nullable
+    public TaskMetrics getMetrics() {
+        return metrics;
+    }
+
+    // Duas configurações iguais abrem o mesmo banco da mesma forma (ver TaskDatabase.getDatabase)
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DatabaseConfig other = (DatabaseConfig) o;
+        return cacheSizeKib == other.cacheSizeKib
+                && mmapSizeBytes == other.mmapSizeBytes
+                && name.equals(other.name)
+                && queryExecutor == other.queryExecutor
+                && transactionExecutor == other.transactionExecutor
+                && journalMode == other.journalMode
+                && synchronous == other.synchronous
+                && metrics == other.metrics;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, queryExecutor, transactionExecutor, journalMode, cacheSizeKib,
+                synchronous, mmapSizeBytes, metrics);
+    }
+
+    // Callback que aplica os PRAGMAs ao abrir o banco (conexão principal, usada nas escritas)
+    RoomDatabase.Callback pragmaCallback() {
+        return new RoomDatabase.Callback() {
+            @Override
+            public void onOpen(@NonNull SupportSQLiteDatabase db) {
+                // cache_size negativo é em KiB; PRAGMAs que retornam linha precisam de query()
+                pragma(db, "PRAGMA cache_size = -" + cacheSizeKib);
+                pragma(db, "PRAGMA synchronous = " + synchronous.name());
+                pragma(db, "PRAGMA mmap_size = " + mmapSizeBytes);
+            }
+        };
+    }
+
+    private static void pragma(SupportSQLiteDatabase db, String sql) {
+        db.query(sql).close();
+    }
+
+    public static final class Builder {
+        private String name = DEFAULT_NAME;
+        private Executor queryExecutor = AppExecutors.getInstance().queryExecutor();
+        private Executor transactionExecutor = AppExecutors.getInstance().transactionExecutor();
+        private RoomDatabase.JournalMode journalMode = RoomDatabase.JournalMode.WRITE_AHEAD_LOGGING;
+        private int cacheSizeKib = 4 * 1024;
+        private Synchronous synchronous = Synchronous.NORMAL;
+        private long mmapSizeBytes = 0;
+        private TaskMetrics metrics;
+
+        public Builder setName(@NonNull String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder setQueryExecutor(@NonNull Executor queryExecutor) {
+            this.queryExecutor = queryExecutor;
+            return this;
+        }
+
+        public Builder setTransactionExecutor(@NonNull Executor transactionExecutor) {
+            this.transactionExecutor = transactionExecutor;
+            return this;
+        }
+
+        public Builder setJournalMode(@NonNull RoomDatabase.JournalMode journalMode) {
+            this.journalMode = journalMode;
+            return this;
+        }
+
+        public Builder setCacheSizeKib(int cacheSizeKib) {
+            if (cacheSizeKib <= 0) {
+                throw new IllegalArgumentException("cacheSizeKib deve ser positivo");
+            }
+            this.cacheSizeKib = cacheSizeKib;
+            return this;
+        }
+
+        public Builder setSynchronous(@NonNull Synchronous synchronous) {
+            this.synchronous = synchronous;
+            return this;
+        }
+
+        // 0 desativa o mmap (padrão do SQLite no Android)
+        public Builder setMmapSizeBytes(long mmapSizeBytes) {
+            if (mmapSizeBytes < 0) {
+                throw new IllegalArgumentException("mmapSizeBytes não pode ser negativo");
+            }
+            this.mmapSizeBytes = mmapSizeBytes;
+            return this;
+        }
+
+        // Com métricas, cada consulta passa pelo MeteredOpenHelperFactory (usado em debug)
+        public Builder setMetrics(@Nullable TaskMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        public DatabaseConfig build() {
+            return new DatabaseConfig(this);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.taskflow.data.database;
+
+import android.util.Log;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import com.example.taskflow.data.model.TaskListItem;
+import com.example.taskflow.util.AppExecutors;
+import com.example.taskflow.util.TaskDateLabelFormatter;
+import java.util.List;
+
+/**
+ * Abre o {@link TaskDatabase} e lê a primeira página da lista em background durante a
+ * splash, em paralelo com a inflação da UI. Quando a MainActivity é criada, o Room já
+ * validou o schema e aplicou as migrations, e as páginas do SQLite estão em cache.
+ */
+public final class DatabasePrewarmer {
+
+    private static final String TAG = "DatabasePrewarmer";
+
+    // Mesmo tamanho da primeira página carregada pelo Pager da lista
+    private static final int FIRST_PAGE_SIZE = 50;
+
+    private static final MutableLiveData<Boolean> ready = new MutableLiveData<>(false);
+    private static boolean started;
+
+    private DatabasePrewarmer() {
+    }
+
+    // Idempotente: só a primeira chamada dispara o aquecimento
+    public static synchronized void start(TaskDatabase database, AppExecutors executors) {
+        if (started) {
+            return;
+        }
+        started = true;
+        executors.queryExecutor().execute(() -> {
+            try {
+                List<TaskListItem> firstPage = database.taskDao()
+                        .loadFirstPage(FIRST_PAGE_SIZE);
+                // Os rótulos de data da primeira tela ficam no cache do formatter
+                TaskDateLabelFormatter dateLabels = TaskDateLabelFormatter.getInstance();
+                for (TaskListItem item : firstPage) {
+                    dateLabels.prepare(item);
+                }
+            } catch (RuntimeException e) {
+                // Sem aquecimento a MainActivity abre o banco normalmente
+                Log.e(TAG, "Falha ao preparar o banco", e);
+            } finally {
+                ready.postValue(true);
+            }
+        });
+    }
+
+    // true quando o banco está aberto e a primeira página foi lida (ou falhou)
+    public static LiveData<Boolean> isReady() {
+        return ready;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.taskflow.data.database;
+
+import androidx.annotation.NonNull;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+public final class Migrations {
+
+    private Migrations() {
+    }
+
+    // Versão 2: índices para os filtros por status/prioridade ordenados por data
+    public static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_createdAt` "
+                    + "ON `tasks` (`createdAt`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_isCompleted_createdAt` "
+                    + "ON `tasks` (`isCompleted`, `createdAt`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_priority_createdAt` "
+                    + "ON `tasks` (`priority`, `createdAt`)");
+        }
+    };
+
+    // Versão 3: tabela FTS4 de busca textual, espelhando título e descrição de tasks
+    public static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `tasks_fts` USING FTS4("
+                    + "`title` TEXT, `description` TEXT, tokenize=unicode61, content=`tasks`)");
+            createTaskFtsTriggers(db);
+            // Indexa as tarefas que já existiam
+            db.execSQL("INSERT INTO `tasks_fts`(`tasks_fts`) VALUES ('rebuild')");
+        }
+    };
+
+    // Versão 4: createdAt/completedAt passam a ser NOT NULL (epoch millis, 0 = sem data).
+    // O SQLite não altera restrições de coluna, então a tabela é recriada preservando os ids
+    public static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `tasks_new` ("
+                    + "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `title` TEXT, "
+                    + "`description` TEXT, `priority` TEXT, `isCompleted` INTEGER NOT NULL, "
+                    + "`createdAt` INTEGER NOT NULL, `completedAt` INTEGER NOT NULL)");
+            db.execSQL("INSERT INTO `tasks_new` (`id`, `title`, `description`, `priority`, "
+                    + "`isCompleted`, `createdAt`, `completedAt`) "
+                    + "SELECT `id`, `title`, `description`, `priority`, `isCompleted`, "
+                    + "COALESCE(`createdAt`, 0), COALESCE(`completedAt`, 0) FROM `tasks`");
+            // Remover a tabela antiga também remove seus índices e triggers de FTS
+            db.execSQL("DROP TABLE `tasks`");
+            db.execSQL("ALTER TABLE `tasks_new` RENAME TO `tasks`");
+            MIGRATION_1_2.migrate(db);
+            createTaskFtsTriggers(db);
+        }
+    };
+
+    // Versão 5: prazo das tarefas (0 = sem prazo) e índice para as janelas de prazo
+    public static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `tasks` ADD COLUMN `dueAt` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_isCompleted_dueAt` "
+                    + "ON `tasks` (`isCompleted`, `dueAt`)");
+        }
+    };
+
+    // Versão 6: sincronização. uid identifica a tarefa entre aparelhos, updatedAt resolve
+    // conflitos e task_changes guarda as mudanças locais ainda não enviadas
+    public static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `tasks` ADD COLUMN `uid` TEXT NOT NULL DEFAULT ''");
+            db.execSQL("ALTER TABLE `tasks` ADD COLUMN `updatedAt` INTEGER NOT NULL DEFAULT 0");
+            // Mesmo formato do UUID.randomUUID() usado nas tarefas novas (versão 4, com hífens)
+            db.execSQL("UPDATE `tasks` SET `uid` = lower(hex(randomblob(4))) || '-' "
+                    + "|| lower(hex(randomblob(2))) || '-4' "
+                    + "|| substr(lower(hex(randomblob(2))), 2) || '-' "
+                    + "|| substr('89ab', 1 + abs(random()) % 4, 1) "
+                    + "|| substr(lower(hex(randomblob(2))), 2) || '-' "
+                    + "|| lower(hex(randomblob(6))), "
+                    + "`updatedAt` = MAX(`createdAt`, `completedAt`)");
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_tasks_uid` ON `tasks` (`uid`)");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `task_changes` ("
+                    + "`revision` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`uid` TEXT NOT NULL, `deleted` INTEGER NOT NULL, "
+                    + "`changedAt` INTEGER NOT NULL)");
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_task_changes_uid` "
+                    + "ON `task_changes` (`uid`)");
+            // As tarefas que já existiam entram no primeiro envio
+            db.execSQL("INSERT INTO `task_changes` (`uid`, `deleted`, `changedAt`) "
+                    + "SELECT `uid`, 0, `updatedAt` FROM `tasks`");
+            createChangeLogTriggers(db);
+        }
+    };
+
+    // Versão 7: prioridade como inteiro (priorityRank) e índices para as ordenações da lista.
+    // O índice por priority (texto) deixa de ser usado
+    public static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `tasks` ADD COLUMN `priorityRank` INTEGER NOT NULL DEFAULT 0");
+            // Preencher o rank não é uma mudança da tarefa: o trigger do log fica fora
+            db.execSQL("DROP TRIGGER IF EXISTS task_changes_AFTER_UPDATE");
+            db.execSQL("UPDATE `tasks` SET `priorityRank` = CASE `priority` "
+                    + "WHEN 'HIGH' THEN 3 WHEN 'MEDIUM' THEN 2 WHEN 'LOW' THEN 1 ELSE 0 END");
+            createChangeLogTriggers(db);
+            db.execSQL("DROP INDEX IF EXISTS `index_tasks_priority_createdAt`");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_priorityRank_createdAt` "
+                    + "ON `tasks` (`priorityRank`, `createdAt`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_isCompleted_priorityRank_createdAt` "
+                    + "ON `tasks` (`isCompleted`, `priorityRank`, `createdAt`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_isCompleted_completedAt_createdAt` "
+                    + "ON `tasks` (`isCompleted`, `completedAt`, `createdAt`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS "
+                    + "`index_tasks_priorityRank_isCompleted_completedAt_createdAt` "
+                    + "ON `tasks` (`priorityRank`, `isCompleted`, `completedAt`, `createdAt`)");
+        }
+    };
+
+    // Versão 8: o trigger de exclusão deixa de usar o relógio do SQLite; o horário vem do
+    // AppClock, carimbado pelo TaskDao no updatedAt da linha antes do DELETE
+    public static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("DROP TRIGGER IF EXISTS task_changes_AFTER_DELETE");
+            createChangeLogTriggers(db);
+        }
+    };
+
+    /**
+     * Registra em task_changes toda mutação de tasks, inclusive os UPDATE/DELETE em lote do
+     * TaskDao. O REPLACE pelo uid mantém só a última mudança de cada tarefa. A exclusão
+     * fica 1 ms depois do último updatedAt da linha (ver TaskDao.deleteByIds(List, long)).
+     */
+    static void createChangeLogTriggers(SupportSQLiteDatabase db) {
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS task_changes_AFTER_INSERT "
+                + "AFTER INSERT ON `tasks` BEGIN INSERT OR REPLACE INTO `task_changes`"
+                + "(`uid`, `deleted`, `changedAt`) VALUES (NEW.`uid`, 0, NEW.`updatedAt`); END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS task_changes_AFTER_UPDATE "
+                + "AFTER UPDATE ON `tasks` BEGIN INSERT OR REPLACE INTO `task_changes`"
+                + "(`uid`, `deleted`, `changedAt`) VALUES (NEW.`uid`, 0, NEW.`updatedAt`); END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS task_changes_AFTER_DELETE "
+                + "AFTER DELETE ON `tasks` BEGIN INSERT OR REPLACE INTO `task_changes`"
+                + "(`uid`, `deleted`, `changedAt`) VALUES (OLD.`uid`, 1, OLD.`updatedAt` + 1); "
+                + "END");
+    }
+
+    // Mesmos triggers que o Room gera para uma entidade @Fts4(contentEntity = Task.class)
+    static void createTaskFtsTriggers(SupportSQLiteDatabase db) {
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_tasks_fts_BEFORE_UPDATE "
+                + "BEFORE UPDATE ON `tasks` BEGIN DELETE FROM `tasks_fts` "
+                + "WHERE `docid`=OLD.`rowid`; END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_tasks_fts_BEFORE_DELETE "
+                + "BEFORE DELETE ON `tasks` BEGIN DELETE FROM `tasks_fts` "
+                + "WHERE `docid`=OLD.`rowid`; END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_tasks_fts_AFTER_UPDATE "
+                + "AFTER UPDATE ON `tasks` BEGIN INSERT INTO `tasks_fts`(`docid`, `title`, `description`) "
+                + "VALUES (NEW.`rowid`, NEW.`title`, NEW.`description`); END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_tasks_fts_AFTER_INSERT "
+                + "AFTER INSERT ON `tasks` BEGIN INSERT INTO `tasks_fts`(`docid`, `title`, `description`) "
+                + "VALUES (NEW.`rowid`, NEW.`title`, NEW.`description`); END");
+    }
+}
@@ -1,37 +1,89 @@
 package com.example.taskflow.data.database;
 
 import android.content.Context;
+import androidx.annotation.NonNull;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
 import androidx.room.TypeConverters;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory;
 import com.example.taskflow.data.converter.Converters;
+import com.example.taskflow.data.dao.SyncDao;
 import com.example.taskflow.data.dao.TaskDao;
 import com.example.taskflow.data.entity.Task;
+import com.example.taskflow.data.entity.TaskChange;
+import com.example.taskflow.data.entity.TaskFts;
+import com.example.taskflow.metrics.MeteredOpenHelperFactory;
 
 @Database(
-        entities = {Task.class},
-        version = 1,
-        exportSchema = false
+        entities = {Task.class, TaskFts.class, TaskChange.class},
+        version = 8,
+        exportSchema = true
 )
 @TypeConverters(Converters.class)
 public abstract class TaskDatabase extends RoomDatabase {
     public abstract TaskDao taskDao();
 
+    public abstract SyncDao syncDao();
+
+    /**
+     * Cria os triggers do log de mudanças num banco novo (o Room só cria tabelas e índices).
+     * Bancos criados fora de {@link #getDatabase} (ex.: em memória nos testes) também precisam.
+     */
+    public static final Callback CHANGE_LOG_CALLBACK = new Callback() {
+        @Override
+        public void onCreate(@NonNull SupportSQLiteDatabase db) {
+            Migrations.createChangeLogTriggers(db);
+        }
+    };
+
     private static volatile TaskDatabase INSTANCE;
+    // Configuração usada na abertura; escrita antes de INSTANCE, lida depois dele
+    private static DatabaseConfig instanceConfig;
 
+    // O banco já aberto, qualquer que seja a configuração; na primeira chamada, a padrão
     public static TaskDatabase getDatabase(Context context) {
+        TaskDatabase instance = INSTANCE;
+        return instance != null ? instance : getDatabase(context, DatabaseConfig.defaults());
+    }
+
+    /**
+     * Abre o banco com a configuração informada na primeira chamada. Depois dele aberto, pedir
+     * o banco com uma configuração diferente é erro: ela seria ignorada sem aviso.
+     */
+    public static TaskDatabase getDatabase(Context context, DatabaseConfig config) {
         if (INSTANCE == null) {
             synchronized (TaskDatabase.class) {
                 if (INSTANCE == null) {
-                    INSTANCE = Room.databaseBuilder(
+                    RoomDatabase.Builder<TaskDatabase> builder = Room.databaseBuilder(
                             context.getApplicationContext(),
                             TaskDatabase.class,
-                            "task_database"
-                    ).build();
+                            config.getName()
+                    )
+                            .addMigrations(Migrations.MIGRATION_1_2, Migrations.MIGRATION_2_3,
+                                    Migrations.MIGRATION_3_4, Migrations.MIGRATION_4_5,
+                                    Migrations.MIGRATION_5_6, Migrations.MIGRATION_6_7,
+                                    Migrations.MIGRATION_7_8)
+                            .addCallback(CHANGE_LOG_CALLBACK)
+                            .setQueryExecutor(config.getQueryExecutor())
+                            .setTransactionExecutor(config.getTransactionExecutor())
+                            .setJournalMode(config.getJournalMode())
+                            .addCallback(config.pragmaCallback());
+                    if (config.getMetrics() != null) {
+                        builder.openHelperFactory(new MeteredOpenHelperFactory(
+                                new FrameworkSQLiteOpenHelperFactory(), config.getMetrics()));
+                    }
+                    instanceConfig = config;
+                    INSTANCE = builder.build();
                 }
             }
         }
-        return INSTANCE;
+        TaskDatabase instance = INSTANCE;
+        if (!instanceConfig.equals(config)) {
+            throw new IllegalStateException("TaskDatabase já foi aberto com outra configuração ("
+                    + config.getName() + ")");
+        }
+        return instance;
     }
 }
\ No newline at end of file
@@ -1,38 +1,70 @@
 package com.example.taskflow.data.entity;
 
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
-import java.util.Calendar;
+import com.example.taskflow.util.AppClock;
 import java.util.Date;
-import java.util.TimeZone;
-
-@Entity(tableName = "tasks")
+import java.util.UUID;
+
+// Os índices cobrem os filtros + ordenação usados pelo TaskDao; cada combinação de filtro e
+// TaskSort (ver TaskListQuery) percorre um deles, sem ordenar numa B-tree temporária
+@Entity(
+        tableName = "tasks",
+        indices = {
+                @Index(value = {"createdAt"}),
+                @Index(value = {"isCompleted", "createdAt"}),
+                @Index(value = {"priorityRank", "createdAt"}),
+                @Index(value = {"isCompleted", "priorityRank", "createdAt"}),
+                @Index(value = {"isCompleted", "completedAt", "createdAt"}),
+                @Index(value = {"priorityRank", "isCompleted", "completedAt", "createdAt"}),
+                // Janelas de prazo (hoje / atrasadas / próximos dias) e próximos lembretes
+                @Index(value = {"isCompleted", "dueAt"}),
+                // Identidade da tarefa entre aparelhos (sincronização)
+                @Index(value = {"uid"}, unique = true)
+        }
+)
 public class Task {
+    // Valor de completedAt/dueAt quando não há data
+    public static final long NO_TIMESTAMP = 0L;
+
     @PrimaryKey(autoGenerate = true)
     private long id;
 
     private String title;
     private String description;
     private TaskPriority priority;
+    // TaskPriority.getRank(), mantido junto com priority para ordenar por índice
+    @ColumnInfo(defaultValue = "0")
+    private int priorityRank;
     private boolean isCompleted;
-    private Date createdAt;
-    private Date completedAt;
+    // Datas em epoch millis: o Room lê direto do cursor, sem Long/Date por linha
+    private long createdAt;
+    private long completedAt;
+    // Prazo da tarefa (epoch millis); NO_TIMESTAMP = sem prazo
+    @ColumnInfo(defaultValue = "0")
+    private long dueAt;
+    // Identificador global usado na sincronização; o id local muda de aparelho para aparelho
+    @NonNull
+    @ColumnInfo(defaultValue = "''")
+    private String uid;
+    // Última modificação (epoch millis); decide conflitos na sincronização (last-writer-wins)
+    @ColumnInfo(defaultValue = "0")
+    private long updatedAt;
 
     // Construtor
     public Task(String title, String description, TaskPriority priority) {
         this.title = title;
         this.description = description;
-        this.priority = priority;
+        setPriority(priority);
         this.isCompleted = false;
-        this.createdAt = getCurrentBrazilianTime();
-        this.completedAt = null;
-    }
-
-    // Método para obter hora atual no fuso horário brasileiro
-    private Date getCurrentBrazilianTime() {
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTimeZone(TimeZone.getTimeZone("America/Sao_Paulo"));
-        return calendar.getTime();
+        this.createdAt = AppClock.now();
+        this.completedAt = NO_TIMESTAMP;
+        this.dueAt = NO_TIMESTAMP;
+        this.uid = UUID.randomUUID().toString();
+        this.updatedAt = this.createdAt;
     }
 
     // Getters e Setters
@@ -66,6 +98,16 @@ public class Task {
 
     public void setPriority(TaskPriority priority) {
         this.priority = priority;
+        this.priorityRank = TaskPriority.rankOf(priority);
+    }
+
+    public int getPriorityRank() {
+        return priorityRank;
+    }
+
+    // Usado pelo Room; o rank sempre acompanha setPriority
+    public void setPriorityRank(int priorityRank) {
+        this.priorityRank = priorityRank;
     }
 
     public boolean isCompleted() {
@@ -77,42 +119,84 @@ public class Task {
         // NÃO define automaticamente completedAt aqui para dar mais controle
     }
 
-    public Date getCreatedAt() {
+    public long getCreatedAt() {
         return createdAt;
     }
 
-    public void setCreatedAt(Date createdAt) {
+    public void setCreatedAt(long createdAt) {
         this.createdAt = createdAt;
     }
 
-    public Date getCompletedAt() {
+    public long getCompletedAt() {
         return completedAt;
     }
 
-    public void setCompletedAt(Date completedAt) {
+    public void setCompletedAt(long completedAt) {
         this.completedAt = completedAt;
     }
 
+    public boolean hasCompletedAt() {
+        return completedAt != NO_TIMESTAMP;
+    }
+
+    public long getDueAt() {
+        return dueAt;
+    }
+
+    public void setDueAt(long dueAt) {
+        this.dueAt = dueAt;
+    }
+
+    public boolean hasDueAt() {
+        return dueAt != NO_TIMESTAMP;
+    }
+
+    @NonNull
+    public String getUid() {
+        return uid;
+    }
+
+    public void setUid(@NonNull String uid) {
+        this.uid = uid;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    // Adaptadores para quem ainda trabalha com java.util.Date
+    public Date getCreatedAtDate() {
+        return new Date(createdAt);
+    }
+
+    public Date getCompletedAtDate() {
+        return hasCompletedAt() ? new Date(completedAt) : null;
+    }
+
     // Método para toggle status com controle completo
     public void toggleCompletedStatus() {
         this.isCompleted = !this.isCompleted;
         if (this.isCompleted) {
-            this.completedAt = getCurrentBrazilianTime();
+            this.completedAt = AppClock.now();
         } else {
-            this.completedAt = null;
+            this.completedAt = NO_TIMESTAMP;
         }
     }
 
     // Método para marcar como concluída
     public void markAsCompleted() {
         this.isCompleted = true;
-        this.completedAt = getCurrentBrazilianTime();
+        this.completedAt = AppClock.now();
     }
 
     // Método para marcar como pendente
     public void markAsPending() {
         this.isCompleted = false;
-        this.completedAt = null;
+        this.completedAt = NO_TIMESTAMP;
     }
 
     @Override
@@ -147,6 +231,9 @@ public class Task {
         copy.setCreatedAt(this.createdAt);
         copy.setCompleted(this.isCompleted);
         copy.setCompletedAt(this.completedAt);
+        copy.setDueAt(this.dueAt);
+        copy.setUid(this.uid);
+        copy.setUpdatedAt(this.updatedAt);
         return copy;
     }
 }
\ No newline at end of file
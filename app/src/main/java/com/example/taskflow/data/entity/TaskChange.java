@@ -0,0 +1,58 @@
+package com.example.taskflow.data.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * Log de mudanças locais ainda não enviadas ao servidor, alimentado por triggers em
+ * {@code tasks} (ver Migrations.createChangeLogTriggers). Cada tarefa tem no máximo uma
+ * linha: uma nova mudança substitui a anterior e recebe uma revisão maior.
+ */
+@Entity(
+        tableName = "task_changes",
+        indices = {@Index(value = {"uid"}, unique = true)}
+)
+public class TaskChange {
+
+    // AUTOINCREMENT: revisões nunca são reaproveitadas, mesmo depois de apagadas
+    @PrimaryKey(autoGenerate = true)
+    private long revision;
+
+    @NonNull
+    private String uid;
+
+    // Tombstone: a tarefa foi excluída
+    private boolean deleted;
+
+    // updatedAt da tarefa; nas exclusões, o momento da exclusão
+    private long changedAt;
+
+    public TaskChange(@NonNull String uid, boolean deleted, long changedAt) {
+        this.uid = uid;
+        this.deleted = deleted;
+        this.changedAt = changedAt;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+
+    @NonNull
+    public String getUid() {
+        return uid;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public long getChangedAt() {
+        return changedAt;
+    }
+}
@@ -3,16 +3,20 @@ package com.example.taskflow.data.entity;
 import android.graphics.Color;
 
 public enum TaskPriority {
-    HIGH("Alta", Color.parseColor("#E53935")),
-    MEDIUM("Média", Color.parseColor("#FF9800")),
-    LOW("Baixa", Color.parseColor("#4CAF50"));
+    HIGH("Alta", Color.parseColor("#E53935"), 3),
+    MEDIUM("Média", Color.parseColor("#FF9800"), 2),
+    LOW("Baixa", Color.parseColor("#4CAF50"), 1);
 
     private final String displayName;
     private final int color;
+    // Gravado em tasks.priorityRank. Maior = mais urgente, para que "priorityRank DESC,
+    // createdAt DESC" percorra o índice numa única direção
+    private final int rank;
 
-    TaskPriority(String displayName, int color) {
+    TaskPriority(String displayName, int color, int rank) {
         this.displayName = displayName;
         this.color = color;
+        this.rank = rank;
     }
 
     public String getDisplayName() {
@@ -22,4 +26,13 @@ public enum TaskPriority {
     public int getColor() {
         return color;
     }
+
+    public int getRank() {
+        return rank;
+    }
+
+    // Rank de uma prioridade possivelmente nula (linhas antigas sem prioridade)
+    public static int rankOf(TaskPriority priority) {
+        return priority != null ? priority.getRank() : 0;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.example.taskflow.data.model;
+
+import com.example.taskflow.data.entity.Task;
+import com.example.taskflow.data.entity.TaskPriority;
+
+/**
+ * Estado de uma tarefa trocado com o servidor de sincronização: a linha completa ou um
+ * tombstone (só uid e momento da exclusão). {@code revision} é a revisão do servidor,
+ * preenchida apenas nos registros recebidos.
+ */
+public class SyncRecord {
+
+    private final String uid;
+    private final boolean deleted;
+    private final long updatedAt;
+    private final String title;
+    private final String description;
+    private final TaskPriority priority;
+    private final boolean completed;
+    private final long createdAt;
+    private final long completedAt;
+    private final long dueAt;
+    private final long revision;
+
+    public SyncRecord(String uid, boolean deleted, long updatedAt, String title,
+                      String description, TaskPriority priority, boolean completed,
+                      long createdAt, long completedAt, long dueAt, long revision) {
+        this.uid = uid;
+        this.deleted = deleted;
+        this.updatedAt = updatedAt;
+        this.title = title;
+        this.description = description;
+        this.priority = priority;
+        this.completed = completed;
+        this.createdAt = createdAt;
+        this.completedAt = completedAt;
+        this.dueAt = dueAt;
+        this.revision = revision;
+    }
+
+    public static SyncRecord fromTask(Task task) {
+        return new SyncRecord(task.getUid(), false, task.getUpdatedAt(), task.getTitle(),
+                task.getDescription(), task.getPriority(), task.isCompleted(),
+                task.getCreatedAt(), task.getCompletedAt(), task.getDueAt(), 0);
+    }
+
+    public static SyncRecord tombstone(String uid, long deletedAt) {
+        return new SyncRecord(uid, true, deletedAt, null, null, null, false,
+                Task.NO_TIMESTAMP, Task.NO_TIMESTAMP, Task.NO_TIMESTAMP, 0);
+    }
+
+    // Mesmo registro com a revisão atribuída pelo servidor
+    public SyncRecord withRevision(long revision) {
+        return new SyncRecord(uid, deleted, updatedAt, title, description, priority, completed,
+                createdAt, completedAt, dueAt, revision);
+    }
+
+    // Copia os campos sincronizados para a linha local, preservando o id local
+    public void applyTo(Task task) {
+        task.setUid(uid);
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setPriority(priority);
+        task.setCompleted(completed);
+        task.setCreatedAt(createdAt);
+        task.setCompletedAt(completedAt);
+        task.setDueAt(dueAt);
+        task.setUpdatedAt(updatedAt);
+    }
+
+    public String getUid() {
+        return uid;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getCompletedAt() {
+        return completedAt;
+    }
+
+    public long getDueAt() {
+        return dueAt;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.taskflow.data.model;
+
+import com.example.taskflow.data.entity.Task;
+import com.example.taskflow.data.entity.TaskPriority;
+import com.example.taskflow.util.AppClock;
+import java.util.Objects;
+
+/**
+ * Atualização parcial de {@code tasks} feita pela tela de edição: título, descrição,
+ * prioridade e prazo, sem tocar em createdAt nem no status de conclusão. Só as colunas
+ * marcadas como alteradas são gravadas (ver TaskDao.updateDetails).
+ */
+public class TaskDetailsUpdate {
+
+    private final long id;
+    private final String title;
+    private final String description;
+    private final TaskPriority priority;
+    private final int priorityRank;
+    private final long dueAt;
+    private final long updatedAt;
+    private final boolean titleChanged;
+    private final boolean descriptionChanged;
+    private final boolean priorityChanged;
+    private final boolean dueAtChanged;
+
+    // Grava todos os campos editáveis
+    public TaskDetailsUpdate(long id, String title, String description, TaskPriority priority,
+                             long dueAt) {
+        this(id, title, description, priority, dueAt, true, true, true, true);
+    }
+
+    // Grava só o que difere da versão carregada quando a tela abriu
+    public TaskDetailsUpdate(Task original, String title, String description,
+                             TaskPriority priority, long dueAt) {
+        this(original.getId(), title, description, priority, dueAt,
+                !Objects.equals(original.getTitle(), title),
+                !Objects.equals(original.getDescription(), description),
+                original.getPriority() != priority,
+                original.getDueAt() != dueAt);
+    }
+
+    private TaskDetailsUpdate(long id, String title, String description, TaskPriority priority,
+                              long dueAt, boolean titleChanged, boolean descriptionChanged,
+                              boolean priorityChanged, boolean dueAtChanged) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.priority = priority;
+        this.priorityRank = TaskPriority.rankOf(priority);
+        this.dueAt = dueAt;
+        this.updatedAt = AppClock.now();
+        this.titleChanged = titleChanged;
+        this.descriptionChanged = descriptionChanged;
+        this.priorityChanged = priorityChanged;
+        this.dueAtChanged = dueAtChanged;
+    }
+
+    public boolean hasChanges() {
+        return titleChanged || descriptionChanged || priorityChanged || dueAtChanged;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    public int getPriorityRank() {
+        return priorityRank;
+    }
+
+    public long getDueAt() {
+        return dueAt;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public boolean isTitleChanged() {
+        return titleChanged;
+    }
+
+    public boolean isDescriptionChanged() {
+        return descriptionChanged;
+    }
+
+    public boolean isPriorityChanged() {
+        return priorityChanged;
+    }
+
+    public boolean isDueAtChanged() {
+        return dueAtChanged;
+    }
+}
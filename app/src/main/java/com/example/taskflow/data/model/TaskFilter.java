@@ -0,0 +1,13 @@
+package com.example.taskflow.data.model;
+
+// Filtros da lista principal, selecionados pelos chips da MainActivity
+public enum TaskFilter {
+    ALL,
+    PENDING,
+    COMPLETED,
+    HIGH_PRIORITY,
+    // Janelas de prazo (apenas tarefas pendentes)
+    DUE_TODAY,
+    OVERDUE,
+    NEXT_7_DAYS
+}
@@ -0,0 +1,104 @@
+package com.example.taskflow.data.model;
+
+import com.example.taskflow.data.entity.Task;
+import com.example.taskflow.data.entity.TaskPriority;
+import java.util.Objects;
+
+/**
+ * Projeção de uma tarefa para a lista: só as colunas que o item mostra, com a descrição
+ * já truncada pelo SQLite. A linha completa é carregada por id quando a edição abre.
+ */
+public class TaskListItem {
+
+    // Caracteres da descrição trazidos para a prévia (o item mostra no máximo duas linhas)
+    public static final int DESCRIPTION_PREVIEW_LENGTH = 160;
+
+    private final long id;
+    private final String title;
+    private final String descriptionPreview;
+    private final TaskPriority priority;
+    private final boolean isCompleted;
+    private final long createdAt;
+    private final long completedAt;
+    private final long dueAt;
+
+    public TaskListItem(long id, String title, String descriptionPreview, TaskPriority priority,
+                        boolean isCompleted, long createdAt, long completedAt, long dueAt) {
+        this.id = id;
+        this.title = title;
+        this.descriptionPreview = descriptionPreview;
+        this.priority = priority;
+        this.isCompleted = isCompleted;
+        this.createdAt = createdAt;
+        this.completedAt = completedAt;
+        this.dueAt = dueAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescriptionPreview() {
+        return descriptionPreview;
+    }
+
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    public boolean isCompleted() {
+        return isCompleted;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getCompletedAt() {
+        return completedAt;
+    }
+
+    public boolean hasCompletedAt() {
+        return completedAt != Task.NO_TIMESTAMP;
+    }
+
+    public long getDueAt() {
+        return dueAt;
+    }
+
+    public boolean hasDueAt() {
+        return dueAt != Task.NO_TIMESTAMP;
+    }
+
+    // Igualdade por valor: permite descartar listas repetidas (distinctUntilChanged)
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TaskListItem other = (TaskListItem) o;
+        return id == other.id
+                && isCompleted == other.isCompleted
+                && createdAt == other.createdAt
+                && completedAt == other.completedAt
+                && dueAt == other.dueAt
+                && priority == other.priority
+                && Objects.equals(title, other.title)
+                && Objects.equals(descriptionPreview, other.descriptionPreview);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, title, descriptionPreview, priority, isCompleted, createdAt,
+                completedAt, dueAt);
+    }
+
+    // Cópia com outro status; o item original continua intacto para o diff da lista
+    public TaskListItem withStatus(boolean completed, long completedAt) {
+        return new TaskListItem(id, title, descriptionPreview, priority, completed, createdAt,
+                completedAt, dueAt);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.taskflow.data.model;
+
+// Projeção mínima usada pelo agendador de lembretes
+public class TaskReminder {
+
+    private final long id;
+    private final String title;
+    private final long dueAt;
+
+    public TaskReminder(long id, String title, long dueAt) {
+        this.id = id;
+        this.title = title;
+        this.dueAt = dueAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public long getDueAt() {
+        return dueAt;
+    }
+}
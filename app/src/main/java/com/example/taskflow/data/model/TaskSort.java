@@ -0,0 +1,19 @@
+package com.example.taskflow.data.model;
+
+// Ordenações da lista escolhidas pelo usuário; o SQL de cada uma fica em TaskListQuery
+public enum TaskSort {
+    NEWEST("Mais recentes"),
+    OLDEST("Mais antigas"),
+    PRIORITY("Prioridade"),
+    RECENTLY_COMPLETED("Concluídas recentemente");
+
+    private final String displayName;
+
+    TaskSort(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.taskflow.data.model;
+
+import java.util.Objects;
+
+// Projeção com todos os contadores do dashboard, calculados numa única consulta
+public class TaskStats {
+
+    private final int pendingCount;
+    private final int completedCount;
+    // Pendentes com prazo já vencido
+    private final int overdueCount;
+    private final int highPriorityCount;
+    private final int mediumPriorityCount;
+    private final int lowPriorityCount;
+
+    public TaskStats(int pendingCount, int completedCount, int overdueCount,
+                     int highPriorityCount, int mediumPriorityCount, int lowPriorityCount) {
+        this.pendingCount = pendingCount;
+        this.completedCount = completedCount;
+        this.overdueCount = overdueCount;
+        this.highPriorityCount = highPriorityCount;
+        this.mediumPriorityCount = mediumPriorityCount;
+        this.lowPriorityCount = lowPriorityCount;
+    }
+
+    public int getPendingCount() {
+        return pendingCount;
+    }
+
+    public int getCompletedCount() {
+        return completedCount;
+    }
+
+    public int getOverdueCount() {
+        return overdueCount;
+    }
+
+    public int getHighPriorityCount() {
+        return highPriorityCount;
+    }
+
+    public int getMediumPriorityCount() {
+        return mediumPriorityCount;
+    }
+
+    public int getLowPriorityCount() {
+        return lowPriorityCount;
+    }
+
+    public int getTotalCount() {
+        return pendingCount + completedCount;
+    }
+
+    // Igualdade por valor: permite descartar emissões repetidas (distinctUntilChanged)
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TaskStats other = (TaskStats) o;
+        return pendingCount == other.pendingCount
+                && completedCount == other.completedCount
+                && overdueCount == other.overdueCount
+                && highPriorityCount == other.highPriorityCount
+                && mediumPriorityCount == other.mediumPriorityCount
+                && lowPriorityCount == other.lowPriorityCount;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(pendingCount, completedCount, overdueCount, highPriorityCount,
+                mediumPriorityCount, lowPriorityCount);
+    }
+}
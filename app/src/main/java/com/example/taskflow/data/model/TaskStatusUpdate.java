@@ -0,0 +1,39 @@
+package com.example.taskflow.data.model;
+
+import com.example.taskflow.util.AppClock;
+
+/**
+ * Atualização parcial de {@code tasks}: grava apenas o status de conclusão,
+ * via {@code @Update(entity = Task.class)}.
+ */
+public class TaskStatusUpdate {
+
+    private final long id;
+    private final boolean isCompleted;
+    private final long completedAt;
+    // Momento da mudança, usado pela sincronização
+    private final long updatedAt;
+
+    public TaskStatusUpdate(long id, boolean isCompleted, long completedAt) {
+        this.id = id;
+        this.isCompleted = isCompleted;
+        this.completedAt = completedAt;
+        this.updatedAt = AppClock.now();
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public boolean isCompleted() {
+        return isCompleted;
+    }
+
+    public long getCompletedAt() {
+        return completedAt;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+}
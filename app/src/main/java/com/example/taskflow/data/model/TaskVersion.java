@@ -0,0 +1,21 @@
+package com.example.taskflow.data.model;
+
+// Projeção id + updatedAt, usada para validar as tarefas em cache após uma invalidação
+public class TaskVersion {
+
+    private final long id;
+    private final long updatedAt;
+
+    public TaskVersion(long id, long updatedAt) {
+        this.id = id;
+        this.updatedAt = updatedAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.taskflow.metrics;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Histograma de latências com baldes fixos em potências de 2 (0,25 ms, 0,5 ms ... ~1 s e acima).
+ * Memória constante por instância, o que permite manter um por consulta sem limite de amostras;
+ * os percentis retornam o limite superior do balde, precisão suficiente para achar gargalos.
+ */
+public final class LatencyHistogram {
+
+    private static final long FIRST_BOUND_NS = 250_000L;
+    private static final int BUCKETS = 14;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long totalNs;
+    private long maxNs;
+
+    public synchronized void record(long nanos) {
+        counts[bucketOf(nanos)]++;
+        count++;
+        totalNs += nanos;
+        maxNs = Math.max(maxNs, nanos);
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized double getMeanMs() {
+        return count == 0 ? 0 : totalNs / (double) count / 1_000_000.0;
+    }
+
+    public synchronized double getMaxMs() {
+        return maxNs / 1_000_000.0;
+    }
+
+    public synchronized double getTotalMs() {
+        return totalNs / 1_000_000.0;
+    }
+
+    // Limite superior do balde que contém o percentil (o último balde usa o máximo visto)
+    public synchronized double getPercentileMs(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile * count);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(1, rank)) {
+                return i == BUCKETS - 1 ? getMaxMs() : Math.min(upperBoundNs(i), maxNs) / 1_000_000.0;
+            }
+        }
+        return getMaxMs();
+    }
+
+    public synchronized void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        totalNs = 0;
+        maxNs = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(Locale.ROOT, "n=%d mean=%.2fms p50=%.2fms p99=%.2fms max=%.2fms",
+                count, getMeanMs(), getPercentileMs(0.50), getPercentileMs(0.99), getMaxMs());
+    }
+
+    private static int bucketOf(long nanos) {
+        int bucket = 0;
+        long bound = FIRST_BOUND_NS;
+        while (bucket < BUCKETS - 1 && nanos > bound) {
+            bound <<= 1;
+            bucket++;
+        }
+        return bucket;
+    }
+
+    private static long upperBoundNs(int bucket) {
+        return FIRST_BOUND_NS << bucket;
+    }
+}
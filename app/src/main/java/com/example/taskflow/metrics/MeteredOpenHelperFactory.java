@@ -0,0 +1,227 @@
+package com.example.taskflow.metrics;
+
+import android.database.Cursor;
+import android.database.CursorWrapper;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteOpenHelper;
+import androidx.sqlite.db.SupportSQLiteQuery;
+import androidx.sqlite.db.SupportSQLiteStatement;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Locale;
+
+/**
+ * Envolve o SupportSQLiteOpenHelper do Room para medir cada consulta e statement.
+ *
+ * O setQueryCallback do Room só avisa antes da execução, sem tempo nem linhas; aqui o tempo
+ * de uma consulta vai da chamada de query() até o fechamento do cursor (o SQLite executa de
+ * forma preguiçosa, ao preencher a janela), e as linhas vêm de getCount(). Consultas acima do
+ * limite do {@link TaskMetrics} têm o EXPLAIN QUERY PLAN registrado uma vez por SQL.
+ */
+public final class MeteredOpenHelperFactory implements SupportSQLiteOpenHelper.Factory {
+
+    private final SupportSQLiteOpenHelper.Factory delegate;
+    private final TaskMetrics metrics;
+
+    public MeteredOpenHelperFactory(SupportSQLiteOpenHelper.Factory delegate, TaskMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @NonNull
+    @Override
+    public SupportSQLiteOpenHelper create(@NonNull SupportSQLiteOpenHelper.Configuration configuration) {
+        return new MeteredOpenHelper(delegate.create(configuration));
+    }
+
+    private final class MeteredOpenHelper implements SupportSQLiteOpenHelper {
+
+        private final SupportSQLiteOpenHelper helper;
+        // O helper devolve sempre o mesmo banco; o proxy é criado uma vez por instância
+        private volatile SupportSQLiteDatabase wrappedSource;
+        private volatile SupportSQLiteDatabase wrapped;
+
+        MeteredOpenHelper(SupportSQLiteOpenHelper helper) {
+            this.helper = helper;
+        }
+
+        @Nullable
+        @Override
+        public String getDatabaseName() {
+            return helper.getDatabaseName();
+        }
+
+        @Override
+        public void setWriteAheadLoggingEnabled(boolean enabled) {
+            helper.setWriteAheadLoggingEnabled(enabled);
+        }
+
+        @NonNull
+        @Override
+        public SupportSQLiteDatabase getWritableDatabase() {
+            return wrap(helper.getWritableDatabase());
+        }
+
+        @NonNull
+        @Override
+        public SupportSQLiteDatabase getReadableDatabase() {
+            return wrap(helper.getReadableDatabase());
+        }
+
+        @Override
+        public void close() {
+            helper.close();
+        }
+
+        private SupportSQLiteDatabase wrap(SupportSQLiteDatabase database) {
+            SupportSQLiteDatabase current = wrapped;
+            if (current == null || wrappedSource != database) {
+                current = (SupportSQLiteDatabase) Proxy.newProxyInstance(
+                        SupportSQLiteDatabase.class.getClassLoader(),
+                        new Class<?>[]{SupportSQLiteDatabase.class},
+                        new DatabaseHandler(database));
+                wrapped = current;
+                wrappedSource = database;
+            }
+            return current;
+        }
+    }
+
+    // Proxy dinâmico: só query() e compileStatement() são interceptados, o resto passa direto
+    private final class DatabaseHandler implements InvocationHandler {
+
+        private final SupportSQLiteDatabase database;
+
+        DatabaseHandler(SupportSQLiteDatabase database) {
+            this.database = database;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!metrics.isEnabled()) {
+                return invokeOn(database, method, args);
+            }
+            String name = method.getName();
+            if ("query".equals(name)) {
+                String sql = args[0] instanceof SupportSQLiteQuery
+                        ? ((SupportSQLiteQuery) args[0]).getSql() : String.valueOf(args[0]);
+                long start = System.nanoTime();
+                Cursor cursor = (Cursor) invokeOn(database, method, args);
+                return new MeteredCursor(cursor, database, sql, start);
+            }
+            if ("compileStatement".equals(name)) {
+                String sql = (String) args[0];
+                SupportSQLiteStatement statement = (SupportSQLiteStatement) invokeOn(database, method, args);
+                return Proxy.newProxyInstance(SupportSQLiteStatement.class.getClassLoader(),
+                        new Class<?>[]{SupportSQLiteStatement.class},
+                        new StatementHandler(statement, database, sql));
+            }
+            return invokeOn(database, method, args);
+        }
+    }
+
+    // Mede as execuções do statement; bind e clear não contam
+    private final class StatementHandler implements InvocationHandler {
+
+        private final SupportSQLiteStatement statement;
+        private final SupportSQLiteDatabase database;
+        private final String sql;
+
+        StatementHandler(SupportSQLiteStatement statement, SupportSQLiteDatabase database, String sql) {
+            this.statement = statement;
+            this.database = database;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!metrics.isEnabled() || !method.getName().startsWith("execute")
+                    && !method.getName().startsWith("simpleQuery")) {
+                return invokeOn(statement, method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                return invokeOn(statement, method, args);
+            } finally {
+                record(database, sql, start, System.nanoTime() - start, -1);
+            }
+        }
+    }
+
+    // Cursor que registra tempo e linhas ao ser fechado
+    private final class MeteredCursor extends CursorWrapper {
+
+        private final SupportSQLiteDatabase database;
+        private final String sql;
+        private final long startNs;
+        private boolean closed;
+
+        MeteredCursor(Cursor cursor, SupportSQLiteDatabase database, String sql, long startNs) {
+            super(cursor);
+            this.database = database;
+            this.sql = sql;
+            this.startNs = startNs;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            int rows;
+            try {
+                rows = getCount();
+            } catch (RuntimeException e) {
+                rows = 0;
+            }
+            super.close();
+            record(database, sql, startNs, System.nanoTime() - startNs, rows);
+        }
+    }
+
+    private void record(SupportSQLiteDatabase database, String sql, long startNs, long elapsedNs,
+                        int rows) {
+        metrics.recordQuery(sql, startNs, elapsedNs, rows);
+        if (metrics.isSlow(elapsedNs) && isExplainable(sql) && !metrics.hasQueryPlan(sql)) {
+            metrics.recordQueryPlan(sql, elapsedNs, explain(database, sql));
+        }
+    }
+
+    // Direto no banco original, para o EXPLAIN não entrar nas métricas. Parâmetros não
+    // vinculados valem NULL, o que não muda o plano
+    private static String explain(SupportSQLiteDatabase database, String sql) {
+        StringBuilder plan = new StringBuilder();
+        try (Cursor cursor = database.query("EXPLAIN QUERY PLAN " + sql)) {
+            int detail = cursor.getColumnIndex("detail");
+            while (cursor.moveToNext()) {
+                if (plan.length() > 0) {
+                    plan.append('\n');
+                }
+                plan.append(detail >= 0 ? cursor.getString(detail) : cursor.getString(cursor.getColumnCount() - 1));
+            }
+        } catch (RuntimeException e) {
+            plan.append("EXPLAIN falhou: ").append(e.getMessage());
+        }
+        return plan.toString();
+    }
+
+    private static boolean isExplainable(String sql) {
+        String start = sql.trim();
+        start = start.substring(0, Math.min(6, start.length())).toUpperCase(Locale.ROOT);
+        return start.startsWith("SELECT") || start.startsWith("WITH") || start.startsWith("UPDATE")
+                || start.startsWith("DELETE") || start.startsWith("INSERT");
+    }
+
+    private static Object invokeOn(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.taskflow.metrics;
+
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import androidx.room.InvalidationTracker;
+import androidx.room.RoomDatabase;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Métricas de desempenho do app: latência e linhas de cada consulta SQL (via
+ * {@link MeteredOpenHelperFactory}), consultas refeitas após cada invalidação da tabela tasks,
+ * tempos de bind da lista e trechos cronometrados no repositório.
+ *
+ * Fica desligada em release: com isEnabled() falso os pontos de medição só leem um volatile.
+ * Em debug o conteúdo sai em {@code adb shell dumpsys activity com.example.taskflow/.MainActivity}.
+ */
+public final class TaskMetrics {
+
+    private static final String TAG = "TaskMetrics";
+
+    public static final long DEFAULT_SLOW_QUERY_MS = 50;
+    // Consultas iniciadas até esse tempo depois de uma invalidação contam como re-consulta
+    static final long REQUERY_WINDOW_MS = 500;
+    // Consulta do próprio InvalidationTracker, que não é re-consulta de observador
+    private static final String ROOM_TRACKER_TABLE = "room_table_modification_log";
+
+    private static final TaskMetrics INSTANCE = new TaskMetrics();
+
+    private volatile boolean enabled;
+    private volatile long slowQueryThresholdNs = TimeUnit.MILLISECONDS.toNanos(DEFAULT_SLOW_QUERY_MS);
+
+    // Chave: SQL normalizado (ver normalize)
+    private final Map<String, QueryStats> queries = new ConcurrentHashMap<>();
+    // Plano (EXPLAIN QUERY PLAN) de cada SQL que passou do limite; registrado só uma vez
+    private final Map<String, String> slowQueryPlans = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> timings = new ConcurrentHashMap<>();
+    private final LatencyHistogram binds = new LatencyHistogram();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong requeries = new AtomicLong();
+    private volatile long lastInvalidationNs;
+
+    @VisibleForTesting
+    TaskMetrics() {
+    }
+
+    public static TaskMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void setSlowQueryThresholdMs(long thresholdMs) {
+        slowQueryThresholdNs = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+    }
+
+    /**
+     * Conta as invalidações da tabela tasks do banco; as consultas que começam logo depois
+     * dão o fan-out (quantas re-consultas cada escrita provoca nos observadores).
+     */
+    public void observeInvalidations(RoomDatabase database) {
+        database.getInvalidationTracker().addObserver(new InvalidationTracker.Observer("tasks") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                if (enabled) {
+                    invalidations.incrementAndGet();
+                    lastInvalidationNs = System.nanoTime();
+                }
+            }
+        });
+    }
+
+    // Chamado ao fechar o cursor (ou ao terminar o statement) de cada SQL medido
+    void recordQuery(String sql, long startNs, long elapsedNs, int rows) {
+        String key = normalize(sql);
+        QueryStats stats = queries.get(key);
+        if (stats == null) {
+            stats = new QueryStats(key);
+            QueryStats existing = queries.putIfAbsent(key, stats);
+            if (existing != null) {
+                stats = existing;
+            }
+        }
+        stats.record(elapsedNs, rows);
+
+        long invalidatedAt = lastInvalidationNs;
+        if (invalidatedAt != 0 && rows >= 0 && startNs >= invalidatedAt
+                && startNs - invalidatedAt <= TimeUnit.MILLISECONDS.toNanos(REQUERY_WINDOW_MS)
+                && !sql.contains(ROOM_TRACKER_TABLE)) {
+            requeries.incrementAndGet();
+        }
+    }
+
+    boolean isSlow(long elapsedNs) {
+        return elapsedNs >= slowQueryThresholdNs;
+    }
+
+    boolean hasQueryPlan(String sql) {
+        return slowQueryPlans.containsKey(sql);
+    }
+
+    void recordQueryPlan(String sql, long elapsedNs, String plan) {
+        if (slowQueryPlans.putIfAbsent(sql, plan) == null) {
+            Log.w(TAG, String.format(Locale.ROOT, "Consulta lenta (%.1f ms): %s\n%s",
+                    elapsedNs / 1_000_000.0, sql, plan));
+        }
+    }
+
+    public void recordBind(long elapsedNs) {
+        binds.record(elapsedNs);
+    }
+
+    // Trechos cronometrados fora do SQL (ex.: lote da fila de escrita)
+    public void recordTiming(String name, long elapsedNs) {
+        LatencyHistogram histogram = timings.get(name);
+        if (histogram == null) {
+            histogram = new LatencyHistogram();
+            LatencyHistogram existing = timings.putIfAbsent(name, histogram);
+            if (existing != null) {
+                histogram = existing;
+            }
+        }
+        histogram.record(elapsedNs);
+    }
+
+    // Da consulta que mais consumiu tempo para a que menos
+    public List<QueryStats> getQueryStats() {
+        List<QueryStats> result = new ArrayList<>(queries.values());
+        Collections.sort(result, (a, b) -> Double.compare(b.histogram.getTotalMs(), a.histogram.getTotalMs()));
+        return result;
+    }
+
+    @Nullable
+    public QueryStats getQueryStats(String sqlFragment) {
+        for (QueryStats stats : getQueryStats()) {
+            if (stats.sql.contains(sqlFragment)) {
+                return stats;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    public String getQueryPlan(String sqlFragment) {
+        for (Map.Entry<String, String> entry : slowQueryPlans.entrySet()) {
+            if (entry.getKey().contains(sqlFragment)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    public LatencyHistogram getBindStats() {
+        return binds;
+    }
+
+    @Nullable
+    public LatencyHistogram getTiming(String name) {
+        return timings.get(name);
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.get();
+    }
+
+    public long getRequeryCount() {
+        return requeries.get();
+    }
+
+    public void dump(PrintWriter writer) {
+        writer.println("TaskMetrics" + (enabled ? "" : " (desligado)"));
+        long invalidationCount = invalidations.get();
+        writer.println(String.format(Locale.ROOT,
+                "  invalidações de tasks: %d, re-consultas: %d (%.1f por invalidação)",
+                invalidationCount, requeries.get(),
+                invalidationCount == 0 ? 0 : requeries.get() / (double) invalidationCount));
+        writer.println("  bind da lista: " + binds);
+        for (Map.Entry<String, LatencyHistogram> entry : timings.entrySet()) {
+            writer.println("  " + entry.getKey() + ": " + entry.getValue());
+        }
+        writer.println("  consultas:");
+        for (QueryStats stats : getQueryStats()) {
+            writer.println("    " + stats);
+        }
+        if (!slowQueryPlans.isEmpty()) {
+            writer.println("  planos das consultas lentas:");
+            for (Map.Entry<String, String> entry : slowQueryPlans.entrySet()) {
+                writer.println("    " + entry.getKey());
+                writer.println("      " + entry.getValue().replace("\n", "\n      "));
+            }
+        }
+        writer.flush();
+    }
+
+    public String dump() {
+        StringWriter buffer = new StringWriter();
+        dump(new PrintWriter(buffer));
+        return buffer.toString();
+    }
+
+    public void reset() {
+        queries.clear();
+        slowQueryPlans.clear();
+        timings.clear();
+        binds.reset();
+        invalidations.set(0);
+        requeries.set(0);
+        lastInvalidationNs = 0;
+    }
+
+    // Listas IN (?,?,?) de tamanhos diferentes viram uma única entrada
+    static String normalize(String sql) {
+        String trimmed = sql.trim();
+        return trimmed.indexOf("?,") < 0 ? trimmed : trimmed.replaceAll("\\?(\\s*,\\s*\\?)+", "?…");
+    }
+
+    // Latência e linhas de um SQL; statements de escrita reportam -1 linhas
+    public static final class QueryStats {
+
+        private final String sql;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private long totalRows;
+        private long maxRows;
+
+        QueryStats(String sql) {
+            this.sql = sql;
+        }
+
+        void record(long elapsedNs, int rows) {
+            histogram.record(elapsedNs);
+            synchronized (this) {
+                if (rows >= 0) {
+                    totalRows += rows;
+                    maxRows = Math.max(maxRows, rows);
+                }
+            }
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public LatencyHistogram getHistogram() {
+            return histogram;
+        }
+
+        public synchronized long getTotalRows() {
+            return totalRows;
+        }
+
+        public synchronized long getMaxRows() {
+            return maxRows;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s | linhas total=%d max=%d | %s",
+                    histogram, getTotalRows(), getMaxRows(), sql);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.taskflow.reminder;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import androidx.annotation.NonNull;
+import androidx.room.InvalidationTracker;
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import com.example.taskflow.data.dao.TaskDao;
+import com.example.taskflow.data.database.TaskDatabase;
+import com.example.taskflow.data.model.TaskReminder;
+import com.example.taskflow.util.AppClock;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mantém armados no WorkManager apenas os próximos {@link #MAX_ARMED} lembretes.
+ *
+ * A cada mudança em "tasks" (agrupada por {@link #REARM_DEBOUNCE_MS}) lê só as próximas
+ * linhas de index_tasks_isCompleted_dueAt, compara com o conjunto já armado (guardado em
+ * SharedPreferences) e enfileira ou cancela apenas a diferença. A tabela nunca é varrida
+ * e tarefas com prazo distante só são armadas quando entram no topo da fila.
+ */
+public class ReminderScheduler {
+
+    public static final int MAX_ARMED = 20;
+
+    static final String KEY_TASK_ID = "task_id";
+    static final String KEY_DUE_AT = "due_at";
+
+    private static final String PREFS = "reminders";
+    private static final String WORK_PREFIX = "reminder-";
+    private static final long REARM_DEBOUNCE_MS = 500;
+
+    private final Context context;
+    private final TaskDao taskDao;
+    private final TaskDatabase database;
+    private final ScheduledExecutorService executor;
+    private final SharedPreferences armed;
+    private final InvalidationTracker.Observer tasksObserver =
+            new InvalidationTracker.Observer("tasks") {
+                @Override
+                public void onInvalidated(@NonNull Set<String> tables) {
+                    requestRearm();
+                }
+            };
+
+    private ScheduledFuture<?> pendingRearm;
+    private boolean started = false;
+
+    public ReminderScheduler(Context context, TaskDatabase database,
+                             ScheduledExecutorService executor) {
+        this.context = context.getApplicationContext();
+        this.database = database;
+        this.taskDao = database.taskDao();
+        this.executor = executor;
+        this.armed = this.context.getSharedPreferences(PREFS, Context.MODE_PRIVATE);
+    }
+
+    // Passa a acompanhar a tabela; chamadas repetidas não registram outro observer
+    public synchronized void start() {
+        if (!started) {
+            started = true;
+            database.getInvalidationTracker().addObserver(tasksObserver);
+        }
+        requestRearm();
+    }
+
+    public synchronized void stop() {
+        if (started) {
+            started = false;
+            database.getInvalidationTracker().removeObserver(tasksObserver);
+        }
+        if (pendingRearm != null) {
+            pendingRearm.cancel(false);
+            pendingRearm = null;
+        }
+    }
+
+    // Agrupa rajadas de escritas (ex.: lote da fila de escrita) numa única releitura
+    public synchronized void requestRearm() {
+        if (pendingRearm != null && !pendingRearm.isDone()) {
+            return;
+        }
+        pendingRearm = executor.schedule(this::rearm, REARM_DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // Roda na thread do executor; consulta limitada a MAX_ARMED linhas do índice
+    void rearm() {
+        long now = AppClock.now();
+        List<TaskReminder> next = taskDao.loadNextReminders(now, MAX_ARMED);
+        Map<Long, TaskReminder> wanted = new HashMap<>(next.size() * 2);
+        for (TaskReminder reminder : next) {
+            wanted.put(reminder.getId(), reminder);
+        }
+
+        WorkManager workManager = WorkManager.getInstance(context);
+        SharedPreferences.Editor editor = armed.edit();
+        for (Map.Entry<String, ?> entry : armed.getAll().entrySet()) {
+            long id = Long.parseLong(entry.getKey());
+            long dueAt = (Long) entry.getValue();
+            TaskReminder reminder = wanted.get(id);
+            if (reminder != null && reminder.getDueAt() == dueAt) {
+                wanted.remove(id); // Já armado com o mesmo prazo
+                continue;
+            }
+            editor.remove(entry.getKey());
+            // Prazo alterado: o REPLACE abaixo substitui o trabalho. Lembretes já vencidos
+            // ficam com o worker, que pode estar executando agora
+            if (reminder == null && dueAt > now) {
+                workManager.cancelUniqueWork(WORK_PREFIX + id);
+            }
+        }
+
+        for (TaskReminder reminder : wanted.values()) {
+            workManager.enqueueUniqueWork(WORK_PREFIX + reminder.getId(),
+                    ExistingWorkPolicy.REPLACE, buildRequest(reminder, now));
+            editor.putLong(String.valueOf(reminder.getId()), reminder.getDueAt());
+        }
+        editor.apply();
+    }
+
+    private static OneTimeWorkRequest buildRequest(TaskReminder reminder, long now) {
+        Data input = new Data.Builder()
+                .putLong(KEY_TASK_ID, reminder.getId())
+                .putLong(KEY_DUE_AT, reminder.getDueAt())
+                .build();
+        return new OneTimeWorkRequest.Builder(ReminderWorker.class)
+                .setInitialDelay(reminder.getDueAt() - now, TimeUnit.MILLISECONDS)
+                .setInputData(input)
+                .build();
+    }
+}
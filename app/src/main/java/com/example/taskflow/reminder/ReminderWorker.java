@@ -0,0 +1,79 @@
+package com.example.taskflow.reminder;
+
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+import android.os.Build;
+import androidx.annotation.NonNull;
+import androidx.core.app.NotificationCompat;
+import androidx.core.app.NotificationManagerCompat;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+import com.example.taskflow.AddEditTaskActivity;
+import com.example.taskflow.R;
+import com.example.taskflow.ServiceLocator;
+import com.example.taskflow.data.model.TaskReminder;
+
+// Dispara a notificação de um prazo e pede ao agendador para armar o próximo
+public class ReminderWorker extends Worker {
+
+    private static final String CHANNEL_ID = "task_reminders";
+
+    public ReminderWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        Context context = getApplicationContext();
+        long taskId = getInputData().getLong(ReminderScheduler.KEY_TASK_ID, -1);
+        long dueAt = getInputData().getLong(ReminderScheduler.KEY_DUE_AT, 0);
+
+        // Tarefa concluída, excluída ou com prazo alterado depois do agendamento: nada a avisar
+        TaskReminder reminder = ServiceLocator.getTaskDatabase(context).taskDao()
+                .loadPendingReminder(taskId);
+        if (reminder != null && reminder.getDueAt() == dueAt) {
+            notify(context, reminder);
+        }
+
+        ServiceLocator.getReminderScheduler(context).requestRearm();
+        return Result.success();
+    }
+
+    private static void notify(Context context, TaskReminder reminder) {
+        NotificationManagerCompat manager = NotificationManagerCompat.from(context);
+        if (!manager.areNotificationsEnabled()) {
+            return;
+        }
+        createChannel(context);
+
+        Intent intent = new Intent(context, AddEditTaskActivity.class)
+                .putExtra(AddEditTaskActivity.EXTRA_TASK_ID, reminder.getId());
+        PendingIntent contentIntent = PendingIntent.getActivity(context, (int) reminder.getId(),
+                intent, PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+
+        NotificationCompat.Builder builder = new NotificationCompat.Builder(context, CHANNEL_ID)
+                .setSmallIcon(R.drawable.ic_schedule)
+                .setContentTitle(reminder.getTitle())
+                .setContentText("Prazo da tarefa chegou")
+                .setContentIntent(contentIntent)
+                .setAutoCancel(true)
+                .setPriority(NotificationCompat.PRIORITY_DEFAULT);
+        try {
+            manager.notify((int) reminder.getId(), builder.build());
+        } catch (SecurityException e) {
+            // Permissão revogada entre a verificação e o envio
+        }
+    }
+
+    private static void createChannel(Context context) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            NotificationChannel channel = new NotificationChannel(CHANNEL_ID, "Lembretes de prazo",
+                    NotificationManager.IMPORTANCE_DEFAULT);
+            context.getSystemService(NotificationManager.class).createNotificationChannel(channel);
+        }
+    }
+}
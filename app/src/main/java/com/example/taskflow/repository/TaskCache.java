@@ -0,0 +1,160 @@
+package com.example.taskflow.repository;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.example.taskflow.data.entity.Task;
+import com.example.taskflow.data.model.TaskDetailsUpdate;
+import com.example.taskflow.data.model.TaskStatusUpdate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache LRU das linhas completas de {@code tasks}, por id. Guarda e devolve cópias, então quem
+ * recebe uma tarefa pode alterá-la sem afetar o cache.
+ *
+ * As escritas do repositório atualizam as entradas antes de chegar ao banco (write-through);
+ * as demais (sincronização, importação) são detectadas na invalidação da tabela, comparando o
+ * updatedAt de cada entrada com o do banco. Uma leitura do banco só entra no cache se nenhuma
+ * invalidação aconteceu durante ela ({@link #getGeneration}), para não guardar uma linha antiga.
+ */
+public final class TaskCache {
+
+    private final int maxSize;
+    // accessOrder = true: a iteração vai da entrada menos usada para a mais usada
+    private final LinkedHashMap<Long, Task> tasks = new LinkedHashMap<>(16, 0.75f, true);
+    private long generation;
+    private int hitCount;
+    private int missCount;
+
+    TaskCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    // Conta acerto ou falta; null quando a tarefa não está em cache
+    @Nullable
+    synchronized Task get(long id) {
+        Task task = tasks.get(id);
+        if (task == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return task.copy();
+    }
+
+    synchronized long getGeneration() {
+        return generation;
+    }
+
+    // Resultado de uma leitura do banco iniciada na geração informada
+    synchronized void putIfCurrent(@NonNull Task task, long readGeneration) {
+        if (readGeneration == generation) {
+            put(task);
+        }
+    }
+
+    // Escrita do repositório: a versão enfileirada passa a ser a do cache
+    synchronized void put(@NonNull Task task) {
+        if (task.getId() == 0) {
+            return; // Inserção ainda sem id; entra no cache na primeira leitura
+        }
+        tasks.put(task.getId(), task.copy());
+        trimToSize(maxSize);
+    }
+
+    synchronized void applyStatus(TaskStatusUpdate update) {
+        Task task = tasks.get(update.getId());
+        if (task != null) {
+            task.setCompleted(update.isCompleted());
+            task.setCompletedAt(update.getCompletedAt());
+            task.setUpdatedAt(update.getUpdatedAt());
+        }
+    }
+
+    synchronized void applyDetails(TaskDetailsUpdate update) {
+        Task task = tasks.get(update.getId());
+        if (task != null) {
+            if (update.isTitleChanged()) {
+                task.setTitle(update.getTitle());
+            }
+            if (update.isDescriptionChanged()) {
+                task.setDescription(update.getDescription());
+            }
+            if (update.isPriorityChanged()) {
+                task.setPriority(update.getPriority());
+            }
+            if (update.isDueAtChanged()) {
+                task.setDueAt(update.getDueAt());
+            }
+            task.setUpdatedAt(update.getUpdatedAt());
+        }
+    }
+
+    synchronized void remove(long id) {
+        tasks.remove(id);
+    }
+
+    // Operações em lote: mais simples remover do que replicar o UPDATE
+    synchronized void removeAll(Iterable<Long> ids) {
+        for (Long id : ids) {
+            tasks.remove(id);
+        }
+    }
+
+    synchronized void removeCompleted() {
+        Iterator<Task> iterator = tasks.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().isCompleted()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Início de uma invalidação da tabela tasks: incrementa a geração (descartando as leituras
+     * em andamento) e devolve os ids em cache para conferir com o banco.
+     */
+    synchronized List<Long> beginInvalidation() {
+        generation++;
+        return new ArrayList<>(tasks.keySet());
+    }
+
+    // Remove as entradas cuja linha sumiu ou tem outro updatedAt no banco
+    synchronized void retainVersions(List<Long> checkedIds, Map<Long, Long> currentUpdatedAt) {
+        for (Long id : checkedIds) {
+            Task task = tasks.get(id);
+            Long updatedAt = currentUpdatedAt.get(id);
+            if (task != null && (updatedAt == null || updatedAt != task.getUpdatedAt())) {
+                tasks.remove(id);
+            }
+        }
+    }
+
+    // Fora de primeiro plano o cache cai pela metade; com pouca memória é esvaziado
+    synchronized void trim(boolean critical) {
+        trimToSize(critical ? 0 : maxSize / 2);
+    }
+
+    private void trimToSize(int size) {
+        Iterator<Long> eldest = tasks.keySet().iterator();
+        while (tasks.size() > size && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    public synchronized int size() {
+        return tasks.size();
+    }
+
+    public synchronized int getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized int getMissCount() {
+        return missCount;
+    }
+}
@@ -1,65 +1,445 @@
 package com.example.taskflow.repository;
 
-import android.app.Application;
+import android.content.ComponentCallbacks2;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
 import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Transformations;
+import androidx.paging.Pager;
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingData;
+import androidx.paging.PagingDataTransforms;
+import androidx.paging.PagingLiveData;
+import androidx.paging.PagingSource;
+import androidx.room.InvalidationTracker;
+import androidx.sqlite.db.SupportSQLiteQuery;
+import com.example.taskflow.backup.TaskBackup;
 import com.example.taskflow.data.dao.TaskDao;
+import com.example.taskflow.data.dao.TaskListQuery;
+import com.example.taskflow.data.dao.TaskSearchQuery;
 import com.example.taskflow.data.database.TaskDatabase;
 import com.example.taskflow.data.entity.Task;
 import com.example.taskflow.data.entity.TaskPriority;
+import com.example.taskflow.data.model.TaskDetailsUpdate;
+import com.example.taskflow.data.model.TaskFilter;
+import com.example.taskflow.data.model.TaskListItem;
+import com.example.taskflow.data.model.TaskSort;
+import com.example.taskflow.data.model.TaskStats;
+import com.example.taskflow.data.model.TaskStatusUpdate;
+import com.example.taskflow.data.model.TaskVersion;
+import com.example.taskflow.metrics.TaskMetrics;
+import com.example.taskflow.util.AppClock;
+import com.example.taskflow.util.AppExecutors;
+import com.example.taskflow.util.TaskDateLabelFormatter;
+import com.example.taskflow.util.TaskTimeWindows;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import kotlin.jvm.functions.Function0;
 
+/**
+ * Repositório único do app, obtido pelo {@link com.example.taskflow.ServiceLocator}.
+ * O stream de estatísticas é compartilhado entre todas as telas enquanto houver inscritos;
+ * as listas paginadas ficam em cache no escopo de cada ViewModel.
+ */
 public class TaskRepository {
 
+    private static final String TAG = "TaskRepository";
+
+    // Tempo máximo para aplicar as escritas pendentes ao fechar
+    private static final long CLOSE_TIMEOUT_MS = 2000;
+
+    // Tamanho de página da lista; o prefetch carrega a próxima antes do fim da tela
+    private static final int PAGE_SIZE = 50;
+    private static final int PREFETCH_DISTANCE = 25;
+
+    // Tarefas completas mantidas em memória para leituras por id (tela de edição)
+    private static final int TASK_CACHE_SIZE = 256;
+
+    private TaskDatabase database;
     private TaskDao taskDao;
-    private LiveData<List<Task>> allTasks;
-    private LiveData<Integer> pendingTasksCount;
-    private LiveData<Integer> completedTasksCount;
-    private ExecutorService executorService;
+    private Flowable<TaskStats> taskStatsStream;
+    private TaskWriteQueue writeQueue;
+    // Prepara os itens carregados (ex.: rótulos de data) fora da main thread
+    private Executor pageTransformExecutor;
+    private Executor backupExecutor;
+    private Executor queryExecutor;
+    private TaskBackup backup;
+    private final TaskCache taskCache = new TaskCache(TASK_CACHE_SIZE);
+    private InvalidationTracker.Observer cacheObserver;
 
-    public TaskRepository(Application application) {
-        TaskDatabase database = TaskDatabase.getDatabase(application);
+    private final List<TaskWriteQueue.StatusWriteListener> statusListeners =
+            new CopyOnWriteArrayList<>();
+    private final List<TaskWriteQueue.WriteFailureListener> failureListeners =
+            new CopyOnWriteArrayList<>();
+
+    public TaskRepository(TaskDatabase database, AppExecutors executors) {
+        this.database = database;
         taskDao = database.taskDao();
-        allTasks = taskDao.getAllTasks();
-        pendingTasksCount = taskDao.getPendingTasksCount();
-        completedTasksCount = taskDao.getCompletedTasksCount();
-        executorService = Executors.newSingleThreadExecutor();
+        // Uma única consulta para todos os inscritos; o último valor é repassado a quem chegar.
+        // Uma tarefa fica atrasada sem mudar a tabela, então a consulta é refeita a cada minuto
+        taskStatsStream = prepareStream(Flowable.interval(0, 1, TimeUnit.MINUTES)
+                .onBackpressureLatest()
+                .switchMap(tick -> taskDao.observeTaskStats(AppClock.now())))
+                .replay(1).refCount();
+        pageTransformExecutor = executors.backgroundExecutor();
+        backupExecutor = executors.queryExecutor();
+        queryExecutor = executors.queryExecutor();
+        backup = new TaskBackup(database);
+        // As escritas passam pela fila, que agrupa rajadas numa única transação
+        TaskMetrics metrics = TaskMetrics.getInstance();
+        writeQueue = new TaskWriteQueue((inserts, updates, statusUpdates, deleteIds) -> {
+            long start = System.nanoTime();
+            taskDao.applyBatch(inserts, updates, statusUpdates, deleteIds, AppClock.now());
+            if (metrics.isEnabled()) {
+                metrics.recordTiming("fila de escrita: lote", System.nanoTime() - start);
+            }
+        }, executors.writeExecutor());
+        writeQueue.setStatusWriteListener((taskIds, success) -> {
+            for (TaskWriteQueue.StatusWriteListener listener : statusListeners) {
+                listener.onStatusWritten(taskIds, success);
+            }
+        });
+        writeQueue.setWriteFailureListener((taskIds, error) -> {
+            // O cache já tinha a versão não gravada (write-through); volta a ler do banco
+            taskCache.removeAll(taskIds);
+            for (TaskWriteQueue.WriteFailureListener listener : failureListeners) {
+                listener.onWriteFailed(taskIds, error);
+            }
+        });
+        // Escritas fora do repositório (sincronização, importação) também invalidam tasks
+        cacheObserver = new InvalidationTracker.Observer("tasks") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                List<Long> cachedIds = taskCache.beginInvalidation();
+                if (!cachedIds.isEmpty()) {
+                    queryExecutor.execute(() -> revalidateCache(cachedIds));
+                }
+            }
+        };
+        database.getInvalidationTracker().addObserver(cacheObserver);
+    }
+
+    // Progresso e resultado de um backup, entregues na thread que o executa
+    public interface BackupCallback extends TaskBackup.ProgressListener {
+        void onFinished(long count);
+
+        // Erro de arquivo (IOException) ou do banco (RuntimeException)
+        void onFailed(Exception error);
+    }
+
+    // Resultado das gravações de status, para quem exibe o estado otimista (thread de escrita)
+    public void addStatusWriteListener(TaskWriteQueue.StatusWriteListener listener) {
+        statusListeners.add(listener);
+    }
+
+    public void removeStatusWriteListener(TaskWriteQueue.StatusWriteListener listener) {
+        statusListeners.remove(listener);
+    }
+
+    // Qualquer escrita da fila que falhou (thread de escrita), inclusive as de status
+    public void addWriteFailureListener(TaskWriteQueue.WriteFailureListener listener) {
+        failureListeners.add(listener);
+    }
+
+    public void removeWriteFailureListener(TaskWriteQueue.WriteFailureListener listener) {
+        failureListeners.remove(listener);
     }
 
     public void insert(Task task) {
-        executorService.execute(() -> taskDao.insert(task));
+        writeQueue.insert(task);
     }
 
     public void update(Task task) {
-        executorService.execute(() -> taskDao.update(task));
+        // A fila guarda a instância até gravar; a recebida continua com quem chamou
+        Task updated = task.copy();
+        updated.setUpdatedAt(AppClock.now());
+        taskCache.put(updated);
+        writeQueue.update(updated);
     }
 
     public void delete(Task task) {
-        executorService.execute(() -> taskDao.delete(task));
+        delete(task.getId());
+    }
+
+    public void delete(long taskId) {
+        taskCache.remove(taskId);
+        writeQueue.delete(taskId);
+    }
+
+    // Toggle da lista: grava só o status, sem carregar a linha completa
+    public void setCompleted(long taskId, boolean completed) {
+        updateStatus(new TaskStatusUpdate(taskId, completed,
+                completed ? AppClock.now() : Task.NO_TIMESTAMP));
+    }
+
+    public void updateStatus(TaskStatusUpdate update) {
+        taskCache.applyStatus(update);
+        writeQueue.updateStatus(update);
+    }
+
+    // Edição: atualização parcial, ordenada com as demais escritas da fila
+    public void updateDetails(TaskDetailsUpdate update) {
+        taskCache.applyDetails(update);
+        writeQueue.execute(Collections.singletonList(update.getId()),
+                () -> taskDao.updateDetails(update));
+    }
+
+    /**
+     * Linha completa da tarefa, para a tela de edição. Emite uma única vez: na hora, se estiver
+     * no cache, ou depois de uma leitura na thread de consulta (null se não existir).
+     */
+    public LiveData<Task> getTask(long taskId) {
+        Task cached = taskCache.get(taskId);
+        if (cached != null) {
+            return new MutableLiveData<>(cached);
+        }
+        MutableLiveData<Task> result = new MutableLiveData<>();
+        queryExecutor.execute(() -> result.postValue(loadTask(taskId)));
+        return result;
+    }
+
+    // Leitura por id em threads de background; só vai ao banco quando a tarefa não está em cache
+    @WorkerThread
+    @Nullable
+    public Task findTask(long taskId) {
+        Task cached = taskCache.get(taskId);
+        return cached != null ? cached : loadTask(taskId);
+    }
+
+    private Task loadTask(long taskId) {
+        long generation = taskCache.getGeneration();
+        Task task = taskDao.loadById(taskId);
+        if (task != null) {
+            taskCache.putIfCurrent(task, generation);
+        }
+        return task;
+    }
+
+    // Confere as entradas do cache com o updatedAt do banco depois de uma invalidação
+    private void revalidateCache(List<Long> cachedIds) {
+        Map<Long, Long> versions = new HashMap<>();
+        for (int start = 0; start < cachedIds.size(); start += TaskDao.MAX_IDS_PER_STATEMENT) {
+            int end = Math.min(start + TaskDao.MAX_IDS_PER_STATEMENT, cachedIds.size());
+            for (TaskVersion version : taskDao.loadVersions(cachedIds.subList(start, end))) {
+                versions.put(version.getId(), version.getUpdatedAt());
+            }
+        }
+        // Com escrita na fila o cache está à frente do banco de propósito; se ela falhar, o
+        // aviso de falha remove a entrada
+        List<Long> checkedIds = new ArrayList<>(cachedIds.size());
+        for (Long id : cachedIds) {
+            if (!writeQueue.hasPendingWrites(id)) {
+                checkedIds.add(id);
+            }
+        }
+        taskCache.retainVersions(checkedIds, versions);
+    }
+
+    // Tamanho, acertos e faltas do cache por id
+    public TaskCache getTaskCache() {
+        return taskCache;
+    }
+
+    // Repassado pelo ServiceLocator a partir dos ComponentCallbacks2 do app
+    public void onTrimMemory(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND
+                || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+            taskCache.trim(true);
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            taskCache.trim(false);
+        }
+    }
+
+    public void completeTasks(Collection<Long> ids) {
+        long completedAt = AppClock.now();
+        taskCache.removeAll(ids);
+        runBulk(ids, chunk -> taskDao.markCompleted(chunk, completedAt));
+    }
+
+    public void markTasksPending(Collection<Long> ids) {
+        long updatedAt = AppClock.now();
+        taskCache.removeAll(ids);
+        runBulk(ids, chunk -> taskDao.markPending(chunk, updatedAt));
+    }
+
+    public void changePriority(Collection<Long> ids, TaskPriority priority) {
+        long updatedAt = AppClock.now();
+        int priorityRank = TaskPriority.rankOf(priority);
+        taskCache.removeAll(ids);
+        runBulk(ids, chunk -> taskDao.updatePriority(chunk, priority, priorityRank, updatedAt));
+    }
+
+    public void deleteTasks(Collection<Long> ids) {
+        long deletedAt = AppClock.now();
+        taskCache.removeAll(ids);
+        runBulk(ids, chunk -> taskDao.deleteByIds(chunk, deletedAt));
+    }
+
+    public void deleteCompletedTasks() {
+        long deletedAt = AppClock.now();
+        taskCache.removeCompleted();
+        writeQueue.execute(() -> taskDao.deleteCompleted(deletedAt));
+    }
+
+    // Executa a operação em lote numa única transação, depois das escritas já enfileiradas
+    private void runBulk(Collection<Long> ids, Consumer<List<Long>> statement) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Long> snapshot = new ArrayList<>(ids);
+        writeQueue.execute(snapshot, () -> database.runInTransaction(() -> {
+            for (int start = 0; start < snapshot.size(); start += TaskDao.MAX_IDS_PER_STATEMENT) {
+                int end = Math.min(start + TaskDao.MAX_IDS_PER_STATEMENT, snapshot.size());
+                statement.accept(snapshot.subList(start, end));
+            }
+        }));
+    }
+
+    // Exporta em blocos numa thread de consulta; o canal é fechado ao terminar
+    public void exportBackup(WritableByteChannel channel, BackupCallback callback) {
+        backupExecutor.execute(() -> {
+            try {
+                callback.onFinished(backup.exportTo(channel, callback));
+            } catch (IOException | RuntimeException e) {
+                Log.w(TAG, "Falha ao exportar backup", e);
+                callback.onFailed(e);
+            } finally {
+                closeQuietly(channel);
+            }
+        });
+    }
+
+    /**
+     * Importa na thread de escrita, depois das escritas já enfileiradas. Cada bloco é uma
+     * transação própria, então uma falha no meio mantém os blocos já gravados; como uids
+     * existentes são ignorados, importar o mesmo arquivo de novo completa o que faltou.
+     */
+    public void importBackup(ReadableByteChannel channel, BackupCallback callback) {
+        writeQueue.execute(() -> {
+            try {
+                callback.onFinished(backup.importFrom(channel, callback));
+            } catch (IOException | RuntimeException e) {
+                Log.w(TAG, "Falha ao importar backup", e);
+                callback.onFailed(e);
+            } finally {
+                closeQuietly(channel);
+            }
+        });
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            Log.w(TAG, "Falha ao fechar arquivo de backup", e);
+        }
+    }
+
+    // Aplica as escritas pendentes sem esperar a janela de agrupamento
+    public void flushWrites() {
+        writeQueue.flush();
+    }
+
+    // False se o tempo esgotar ou se alguma das escritas pendentes falhou
+    public boolean awaitWrites(long timeout, TimeUnit unit) throws InterruptedException {
+        return writeQueue.awaitIdle(timeout, unit);
     }
 
-    public LiveData<List<Task>> getAllTasks() {
-        return allTasks;
+    // Um Pager novo a cada chamada; quem observa guarda as páginas no próprio escopo (cachedIn)
+    public LiveData<PagingData<TaskListItem>> getPagedTasks(TaskFilter filter, TaskSort sort) {
+        switch (filter) {
+            // As janelas são recalculadas a cada novo PagingSource (toda invalidação),
+            // então "hoje" acompanha a virada do dia. Ficam sempre ordenadas pelo prazo
+            case DUE_TODAY:
+                return createPagedStream(() -> {
+                    long now = AppClock.now();
+                    return taskDao.getTasksDueBetweenPaged(TaskTimeWindows.startOfDay(now),
+                            TaskTimeWindows.startOfDayAfter(now, 1));
+                });
+            case OVERDUE:
+                return createPagedStream(() -> taskDao.getOverdueTasksPaged(AppClock.now()));
+            case NEXT_7_DAYS:
+                return createPagedStream(() -> {
+                    long now = AppClock.now();
+                    return taskDao.getTasksDueBetweenPaged(now,
+                            TaskTimeWindows.startOfDayAfter(now, 8));
+                });
+            default:
+                // A consulta é montada uma vez e reaproveitada a cada invalidação
+                SupportSQLiteQuery query = TaskListQuery.build(filter, sort);
+                return createPagedStream(() -> taskDao.getTasksPaged(query));
+        }
     }
 
-    public LiveData<List<Task>> getPendingTasks() {
-        return taskDao.getTasksByStatus(false);
+    // Busca textual sobre título e descrição (FTS4); texto sem termos gera uma lista vazia
+    public LiveData<PagingData<TaskListItem>> searchTasks(String rawQuery) {
+        String match = TaskSearchQuery.toMatchExpression(rawQuery);
+        if (match == null) {
+            return new MutableLiveData<>(PagingData.empty());
+        }
+        String titleMatch = TaskSearchQuery.toTitleMatchExpression(rawQuery);
+        return createPagedStream(() -> taskDao.searchPaged(match, titleMatch));
     }
 
-    public LiveData<List<Task>> getCompletedTasks() {
-        return taskDao.getTasksByStatus(true);
+    private LiveData<PagingData<TaskListItem>> createPagedStream(
+            Function0<PagingSource<Integer, TaskListItem>> sourceFactory) {
+        // Sem placeholders: o adapter nunca recebe itens nulos
+        Pager<Integer, TaskListItem> pager = new Pager<>(
+                new PagingConfig(PAGE_SIZE, PREFETCH_DISTANCE, false),
+                sourceFactory
+        );
+        TaskDateLabelFormatter dateLabels = TaskDateLabelFormatter.getInstance();
+        return Transformations.map(PagingLiveData.getLiveData(pager),
+                pagingData -> PagingDataTransforms.map(pagingData, pageTransformExecutor, item -> {
+                    dateLabels.prepare(item);
+                    return item;
+                }));
     }
 
-    public LiveData<List<Task>> getHighPriorityTasks() {
-        return taskDao.getTasksByPriority(TaskPriority.HIGH);
+    // Contadores do dashboard, já sem emissões repetidas, entregues fora da main thread
+    public Flowable<TaskStats> observeTaskStats() {
+        return taskStatsStream;
     }
 
-    public LiveData<Integer> getPendingTasksCount() {
-        return pendingTasksCount;
+    // Invalidações em rajada viram só a emissão mais recente; a comparação roda em computation
+    static <T> Flowable<T> prepareStream(Flowable<T> source) {
+        return source.onBackpressureLatest()
+                .observeOn(Schedulers.computation())
+                .distinctUntilChanged();
     }
 
-    public LiveData<Integer> getCompletedTasksCount() {
-        return completedTasksCount;
+    /**
+     * Aplica as escritas pendentes e deixa de observar o banco para o cache. O stream de
+     * estatísticas não é encerrado aqui: ele termina quando o último inscrito cancela.
+     * Usado pelo ServiceLocator ao trocar de banco (testes); depois disso o repositório não
+     * deve ser usado.
+     */
+    public void close() {
+        try {
+            if (!writeQueue.awaitIdle(CLOSE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                Log.w(TAG, "Escritas pendentes não aplicadas antes de fechar");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        database.getInvalidationTracker().removeObserver(cacheObserver);
     }
 }
\ No newline at end of file
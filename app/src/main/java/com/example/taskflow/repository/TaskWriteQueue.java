@@ -0,0 +1,374 @@
+package com.example.taskflow.repository;
+
+import android.util.Log;
+import com.example.taskflow.data.entity.Task;
+import com.example.taskflow.data.model.TaskStatusUpdate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fila de escrita do {@link TaskRepository}.
+ *
+ * As mutações ficam acumuladas por uma janela curta (ou até atingir o tamanho máximo do lote)
+ * e são aplicadas juntas numa única transação. Updates repetidos da mesma tarefa são
+ * coalescidos: só o último estado é gravado. Mudanças de status (toggle na lista) são
+ * gravadas como atualizações parciais, sem precisar da linha completa.
+ *
+ * Um lote que falha não conta como aplicado: o {@link WriteFailureListener} recebe os ids
+ * afetados e {@link #awaitIdle} retorna false.
+ */
+public class TaskWriteQueue {
+
+    private static final String TAG = "TaskWriteQueue";
+
+    static final long DEFAULT_WINDOW_MS = 50;
+    static final int DEFAULT_MAX_BATCH_SIZE = 200;
+
+    // Aplica um lote de mutações numa única transação
+    public interface BatchWriter {
+        void write(List<Task> inserts, List<Task> updates,
+                   List<TaskStatusUpdate> statusUpdates, List<Long> deleteIds);
+    }
+
+    // Avisado (na thread de escrita) quando um lote com mudanças de status é gravado ou falha
+    public interface StatusWriteListener {
+        void onStatusWritten(Collection<Long> taskIds, boolean success);
+    }
+
+    // Avisado (na thread de escrita) quando um lote ou operação em lote falha. Inserções ainda
+    // não têm id, então um lote só com inserções chega com a coleção vazia
+    public interface WriteFailureListener {
+        void onWriteFailed(Collection<Long> taskIds, RuntimeException error);
+    }
+
+    // Falhas guardadas para awaitIdle; mais que isso entre duas chamadas não muda o resultado
+    private static final int MAX_TRACKED_FAILURES = 64;
+
+    private final BatchWriter writer;
+    private final ScheduledExecutorService executor;
+    private final long windowMs;
+    private final int maxBatchSize;
+
+    private final Object lock = new Object();
+    private List<Task> pendingInserts = new ArrayList<>();
+    private LinkedHashMap<Long, Task> pendingUpdates = new LinkedHashMap<>();
+    private LinkedHashMap<Long, TaskStatusUpdate> pendingStatusUpdates = new LinkedHashMap<>();
+    private LinkedHashSet<Long> pendingDeletes = new LinkedHashSet<>();
+    // Ids com mudança de status no lote atual, inclusive as embutidas num update completo
+    private LinkedHashSet<Long> pendingStatusIds = new LinkedHashSet<>();
+    private volatile StatusWriteListener statusListener;
+    private volatile WriteFailureListener failureListener;
+    private ScheduledFuture<?> scheduledDrain;
+
+    // Lotes já fechados e operações em lote, na ordem em que foram enfileirados
+    private final ArrayDeque<WriteUnit> sealed = new ArrayDeque<>();
+    // Unidade em execução no executor de escrita; null entre uma e outra
+    private WriteUnit running;
+    // Versões dos últimos lotes que falharam, em ordem crescente
+    private final ArrayDeque<Long> failedVersions = new ArrayDeque<>();
+
+    // Versões usadas por awaitIdle: cada mutação incrementa enqueuedVersion
+    private long enqueuedVersion;
+    private long appliedVersion;
+    private int transactionCount;
+
+    public TaskWriteQueue(BatchWriter writer, ScheduledExecutorService executor) {
+        this(writer, executor, DEFAULT_WINDOW_MS, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    public TaskWriteQueue(BatchWriter writer, ScheduledExecutorService executor,
+                          long windowMs, int maxBatchSize) {
+        this.writer = writer;
+        this.executor = executor;
+        this.windowMs = windowMs;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public void setStatusWriteListener(StatusWriteListener listener) {
+        this.statusListener = listener;
+    }
+
+    public void setWriteFailureListener(WriteFailureListener listener) {
+        this.failureListener = listener;
+    }
+
+    public void insert(Task task) {
+        synchronized (lock) {
+            pendingInserts.add(task);
+            onEnqueued();
+        }
+    }
+
+    public void update(Task task) {
+        synchronized (lock) {
+            // Uma tarefa que será excluída não precisa mais ser atualizada
+            if (!pendingDeletes.contains(task.getId())) {
+                // A linha completa já leva o status; um toggle anterior fica obsoleto
+                pendingStatusUpdates.remove(task.getId());
+                pendingUpdates.put(task.getId(), task);
+            }
+            onEnqueued();
+        }
+    }
+
+    public void updateStatus(TaskStatusUpdate update) {
+        synchronized (lock) {
+            long id = update.getId();
+            pendingStatusIds.add(id);
+            if (!pendingDeletes.contains(id)) {
+                Task pendingTask = pendingUpdates.get(id);
+                if (pendingTask != null) {
+                    // Aplica o toggle numa cópia da linha que já seria gravada neste lote;
+                    // a instância recebida pode estar em uso pela UI
+                    Task folded = pendingTask.copy();
+                    folded.setCompleted(update.isCompleted());
+                    folded.setCompletedAt(update.getCompletedAt());
+                    folded.setUpdatedAt(update.getUpdatedAt());
+                    pendingUpdates.put(id, folded);
+                } else {
+                    pendingStatusUpdates.put(id, update);
+                }
+            }
+            onEnqueued();
+        }
+    }
+
+    public void delete(long taskId) {
+        synchronized (lock) {
+            pendingUpdates.remove(taskId);
+            pendingStatusUpdates.remove(taskId);
+            pendingDeletes.add(taskId);
+            onEnqueued();
+        }
+    }
+
+    /**
+     * Executa uma operação em lote (ex.: UPDATE ... WHERE id IN) depois das mutações já
+     * enfileiradas, preservando a ordem em que o usuário as fez.
+     */
+    public void execute(Runnable operation) {
+        execute(Collections.emptyList(), operation);
+    }
+
+    // Mesma coisa, informando as tarefas afetadas para o aviso de falha
+    public void execute(Collection<Long> taskIds, Runnable operation) {
+        synchronized (lock) {
+            sealPendingBatch();
+            sealed.add(new WriteUnit(operation, ++enqueuedVersion, new ArrayList<>(taskIds)));
+            cancelScheduledDrain();
+            executor.execute(this::drain);
+        }
+    }
+
+    // Aplica imediatamente o que estiver pendente, sem esperar a janela
+    public void flush() {
+        synchronized (lock) {
+            cancelScheduledDrain();
+        }
+        executor.execute(this::drain);
+    }
+
+    /**
+     * Força o flush e bloqueia até que todas as mutações enfileiradas até agora
+     * tenham sido processadas. Retorna false se o tempo esgotar ou se alguma delas falhou.
+     */
+    public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        long target;
+        long start;
+        synchronized (lock) {
+            target = enqueuedVersion;
+            start = appliedVersion;
+        }
+        flush();
+        synchronized (lock) {
+            while (appliedVersion < target) {
+                long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMs <= 0) {
+                    return false;
+                }
+                lock.wait(remainingMs);
+            }
+            for (long failed : failedVersions) {
+                if (failed > start && failed <= target) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Se a tarefa tem alguma escrita ainda não aplicada: pendente no lote atual, num lote
+     * fechado ou em execução. Operações em lote sem ids ({@link #execute(Runnable)}) não contam.
+     */
+    public boolean hasPendingWrites(long taskId) {
+        synchronized (lock) {
+            if (pendingUpdates.containsKey(taskId) || pendingStatusIds.contains(taskId)
+                    || pendingDeletes.contains(taskId)) {
+                return true;
+            }
+            if (running != null && running.taskIds.contains(taskId)) {
+                return true;
+            }
+            for (WriteUnit unit : sealed) {
+                if (unit.taskIds.contains(taskId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    // Quantidade de transações aplicadas (sem contar as que falharam) desde a criação da fila
+    public int getTransactionCount() {
+        synchronized (lock) {
+            return transactionCount;
+        }
+    }
+
+    private void onEnqueued() {
+        enqueuedVersion++;
+        int size = pendingInserts.size() + pendingUpdates.size()
+                + pendingStatusUpdates.size() + pendingDeletes.size();
+        if (size >= maxBatchSize) {
+            cancelScheduledDrain();
+            executor.execute(this::drain);
+        } else if (scheduledDrain == null) {
+            scheduledDrain = executor.schedule(this::drain, windowMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void cancelScheduledDrain() {
+        if (scheduledDrain != null) {
+            scheduledDrain.cancel(false);
+            scheduledDrain = null;
+        }
+    }
+
+    // Fecha o lote atual; deve ser chamado com o lock
+    private void sealPendingBatch() {
+        if (pendingInserts.isEmpty() && pendingUpdates.isEmpty()
+                && pendingStatusUpdates.isEmpty() && pendingDeletes.isEmpty()) {
+            return;
+        }
+        List<Task> inserts = pendingInserts;
+        List<Task> updates = new ArrayList<>(pendingUpdates.values());
+        List<TaskStatusUpdate> statusUpdates = new ArrayList<>(pendingStatusUpdates.values());
+        List<Long> deleteIds = new ArrayList<>(pendingDeletes);
+        List<Long> statusIds = new ArrayList<>(pendingStatusIds);
+        LinkedHashSet<Long> taskIds = new LinkedHashSet<>(pendingUpdates.keySet());
+        taskIds.addAll(pendingStatusIds);
+        taskIds.addAll(pendingDeletes);
+        pendingInserts = new ArrayList<>();
+        pendingUpdates = new LinkedHashMap<>();
+        pendingStatusUpdates = new LinkedHashMap<>();
+        pendingDeletes = new LinkedHashSet<>();
+        pendingStatusIds = new LinkedHashSet<>();
+        sealed.add(new WriteUnit(() -> {
+            try {
+                writer.write(inserts, updates, statusUpdates, deleteIds);
+            } catch (RuntimeException e) {
+                notifyStatusWritten(statusIds, false);
+                throw e;
+            }
+            notifyStatusWritten(statusIds, true);
+        }, enqueuedVersion, new ArrayList<>(taskIds)));
+    }
+
+    // Roda sempre no executor de escrita, aplicando os lotes fechados em ordem
+    private void drain() {
+        synchronized (lock) {
+            scheduledDrain = null;
+            sealPendingBatch();
+            if (sealed.isEmpty()) {
+                markApplied(enqueuedVersion);
+                return;
+            }
+        }
+
+        while (true) {
+            WriteUnit unit;
+            synchronized (lock) {
+                unit = sealed.poll();
+                running = unit;
+                if (unit == null) {
+                    return;
+                }
+            }
+
+            RuntimeException failure = null;
+            try {
+                unit.operation.run();
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Falha ao aplicar lote de escrita", e);
+                failure = e;
+            }
+
+            if (failure != null) {
+                // Avisa antes de liberar awaitIdle, para quem espera já ver o cache corrigido
+                notifyWriteFailed(unit.taskIds, failure);
+            }
+            synchronized (lock) {
+                if (failure == null) {
+                    transactionCount++;
+                } else {
+                    failedVersions.add(unit.version);
+                    if (failedVersions.size() > MAX_TRACKED_FAILURES) {
+                        failedVersions.poll();
+                    }
+                }
+                running = null;
+                markApplied(unit.version);
+            }
+        }
+    }
+
+    private void notifyWriteFailed(List<Long> taskIds, RuntimeException error) {
+        WriteFailureListener listener = failureListener;
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.onWriteFailed(taskIds, error);
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Falha no aviso de escrita com erro", e);
+        }
+    }
+
+    private void notifyStatusWritten(List<Long> statusIds, boolean success) {
+        StatusWriteListener listener = statusListener;
+        if (listener != null && !statusIds.isEmpty()) {
+            listener.onStatusWritten(statusIds, success);
+        }
+    }
+
+    private void markApplied(long version) {
+        if (version > appliedVersion) {
+            appliedVersion = version;
+        }
+        lock.notifyAll();
+    }
+
+    // Lote fechado ou operação em lote, com a versão e as tarefas que afeta
+    private static final class WriteUnit {
+
+        final Runnable operation;
+        final long version;
+        final List<Long> taskIds;
+
+        WriteUnit(Runnable operation, long version, List<Long> taskIds) {
+            this.operation = operation;
+            this.version = version;
+            this.taskIds = taskIds;
+        }
+    }
+}
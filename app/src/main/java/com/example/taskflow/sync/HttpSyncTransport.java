@@ -0,0 +1,82 @@
+package com.example.taskflow.sync;
+
+import com.example.taskflow.data.model.SyncRecord;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Transporte HTTP: POST {base}/changes envia um lote e
+ * GET {base}/changes?since=&limit= devolve uma página de mudanças remotas.
+ */
+public class HttpSyncTransport implements SyncTransport {
+
+    private static final int TIMEOUT_MS = 15_000;
+
+    private final String baseUrl;
+
+    public HttpSyncTransport(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    @Override
+    public void push(List<SyncRecord> records) throws IOException {
+        HttpURLConnection connection = open(baseUrl + "/changes");
+        try {
+            byte[] body = SyncJson.encodeRecords(records).getBytes(StandardCharsets.UTF_8);
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setFixedLengthStreamingMode(body.length);
+            connection.setRequestProperty("Content-Type", "application/json; charset=utf-8");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body);
+            }
+            checkResponse(connection);
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    @Override
+    public SyncPage pull(long cursor, int limit) throws IOException {
+        HttpURLConnection connection = open(baseUrl + "/changes?since=" + cursor + "&limit=" + limit);
+        try {
+            checkResponse(connection);
+            try (InputStream in = connection.getInputStream()) {
+                return SyncJson.decodePage(readUtf8(in));
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static HttpURLConnection open(String url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setConnectTimeout(TIMEOUT_MS);
+        connection.setReadTimeout(TIMEOUT_MS);
+        connection.setRequestProperty("Accept", "application/json");
+        return connection;
+    }
+
+    private static void checkResponse(HttpURLConnection connection) throws IOException {
+        int code = connection.getResponseCode();
+        if (code < 200 || code >= 300) {
+            throw new IOException("Servidor de sincronização respondeu " + code);
+        }
+    }
+
+    private static String readUtf8(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
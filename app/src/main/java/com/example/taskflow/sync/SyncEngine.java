@@ -0,0 +1,122 @@
+package com.example.taskflow.sync;
+
+import android.content.SharedPreferences;
+import com.example.taskflow.data.dao.SyncDao;
+import com.example.taskflow.data.entity.Task;
+import com.example.taskflow.data.entity.TaskChange;
+import com.example.taskflow.data.model.SyncRecord;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sincronização incremental: envia o log de mudanças locais (task_changes) e depois recebe
+ * as mudanças remotas desde o último cursor, sempre em lotes. Só o que mudou trafega; a
+ * tabela inteira nunca é enviada. Conflitos são resolvidos por updatedAt (last-writer-wins)
+ * dos dois lados.
+ */
+public class SyncEngine {
+
+    static final int BATCH_SIZE = 200;
+    private static final String KEY_CURSOR = "pull_cursor";
+
+    private final SyncDao syncDao;
+    private final SyncTransport transport;
+    private final SharedPreferences state;
+
+    public SyncEngine(SyncDao syncDao, SyncTransport transport, SharedPreferences state) {
+        this.syncDao = syncDao;
+        this.transport = transport;
+        this.state = state;
+    }
+
+    // Bloqueante; chamado de uma thread de background (SyncWorker)
+    public synchronized SyncResult sync() throws IOException {
+        int pushed = push();
+        int pulled = pull();
+        return new SyncResult(pushed, pulled);
+    }
+
+    private int push() throws IOException {
+        int pushed = 0;
+        while (true) {
+            List<TaskChange> changes = syncDao.loadChanges(BATCH_SIZE);
+            if (changes.isEmpty()) {
+                return pushed;
+            }
+            List<String> uids = new ArrayList<>(changes.size());
+            for (TaskChange change : changes) {
+                if (!change.isDeleted()) {
+                    uids.add(change.getUid());
+                }
+            }
+            Map<String, Task> tasks = new HashMap<>(uids.size() * 2);
+            if (!uids.isEmpty()) {
+                for (Task task : syncDao.loadByUids(uids)) {
+                    tasks.put(task.getUid(), task);
+                }
+            }
+
+            List<SyncRecord> records = new ArrayList<>(changes.size());
+            for (TaskChange change : changes) {
+                if (change.isDeleted()) {
+                    records.add(SyncRecord.tombstone(change.getUid(), change.getChangedAt()));
+                } else {
+                    Task task = tasks.get(change.getUid());
+                    // Excluída depois da leitura do log: o tombstone já tem revisão nova
+                    if (task != null) {
+                        records.add(SyncRecord.fromTask(task));
+                    }
+                }
+            }
+
+            if (!records.isEmpty()) {
+                transport.push(records);
+            }
+            syncDao.deleteChangesUpTo(changes.get(changes.size() - 1).getRevision());
+            pushed += records.size();
+            if (changes.size() < BATCH_SIZE) {
+                return pushed;
+            }
+        }
+    }
+
+    private int pull() throws IOException {
+        long cursor = state.getLong(KEY_CURSOR, 0);
+        int applied = 0;
+        while (true) {
+            SyncPage page = transport.pull(cursor, BATCH_SIZE);
+            if (!page.getRecords().isEmpty()) {
+                applied += syncDao.applyRemoteChanges(page.getRecords());
+            }
+            // O cursor só avança depois que a página foi gravada
+            cursor = page.getCursor();
+            state.edit().putLong(KEY_CURSOR, cursor).apply();
+            if (!page.hasMore() || page.getRecords().isEmpty()) {
+                return applied;
+            }
+        }
+    }
+
+    // Quantidade de registros enviados e de tarefas alteradas por mudanças remotas
+    public static class SyncResult {
+
+        private final int pushed;
+        private final int pulled;
+
+        SyncResult(int pushed, int pulled) {
+            this.pushed = pushed;
+            this.pulled = pulled;
+        }
+
+        public int getPushed() {
+            return pushed;
+        }
+
+        public int getPulled() {
+            return pulled;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.taskflow.sync;
+
+import com.example.taskflow.data.entity.Task;
+import com.example.taskflow.data.entity.TaskPriority;
+import com.example.taskflow.data.model.SyncRecord;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Formato JSON compacto da sincronização. Chaves de uma ou duas letras e campos omitidos
+ * quando vazios (tombstones levam só uid, exclusão e momento):
+ * u = uid, x = excluída, m = updatedAt, t = título, d = descrição, p = prioridade,
+ * c = concluída, ca = createdAt, co = completedAt, du = dueAt, r = revisão do servidor.
+ * Páginas: {"cursor": n, "more": bool, "changes": [...]}.
+ */
+public final class SyncJson {
+
+    private SyncJson() {
+    }
+
+    public static String encodeRecords(List<SyncRecord> records) throws IOException {
+        JSONArray array = new JSONArray();
+        try {
+            for (SyncRecord record : records) {
+                array.put(toJson(record));
+            }
+        } catch (JSONException e) {
+            throw new IOException("Falha ao codificar mudanças", e);
+        }
+        return array.toString();
+    }
+
+    public static List<SyncRecord> decodeRecords(String json) throws IOException {
+        try {
+            return fromJson(new JSONArray(json));
+        } catch (JSONException e) {
+            throw new IOException("Resposta de sincronização inválida", e);
+        }
+    }
+
+    // Um registro numa linha, sem quebras (usado também pelo backup em JSON Lines)
+    public static String encodeRecord(SyncRecord record) throws IOException {
+        try {
+            return toJson(record).toString();
+        } catch (JSONException e) {
+            throw new IOException("Falha ao codificar registro", e);
+        }
+    }
+
+    public static SyncRecord decodeRecord(String json) throws IOException {
+        try {
+            return fromJson(new JSONObject(json));
+        } catch (JSONException e) {
+            throw new IOException("Registro inválido", e);
+        }
+    }
+
+    public static String encodePage(SyncPage page) throws IOException {
+        try {
+            JSONArray changes = new JSONArray();
+            for (SyncRecord record : page.getRecords()) {
+                changes.put(toJson(record));
+            }
+            return new JSONObject()
+                    .put("cursor", page.getCursor())
+                    .put("more", page.hasMore())
+                    .put("changes", changes)
+                    .toString();
+        } catch (JSONException e) {
+            throw new IOException("Falha ao codificar página", e);
+        }
+    }
+
+    public static SyncPage decodePage(String json) throws IOException {
+        try {
+            JSONObject object = new JSONObject(json);
+            return new SyncPage(fromJson(object.getJSONArray("changes")),
+                    object.getLong("cursor"), object.optBoolean("more"));
+        } catch (JSONException e) {
+            throw new IOException("Resposta de sincronização inválida", e);
+        }
+    }
+
+    private static JSONObject toJson(SyncRecord record) throws JSONException {
+        JSONObject object = new JSONObject();
+        object.put("u", record.getUid());
+        object.put("m", record.getUpdatedAt());
+        if (record.getRevision() != 0) {
+            object.put("r", record.getRevision());
+        }
+        if (record.isDeleted()) {
+            return object.put("x", true);
+        }
+        object.put("t", record.getTitle());
+        if (record.getDescription() != null) {
+            object.put("d", record.getDescription());
+        }
+        // Prioridade é opcional na tarefa (rank 0): sem "p" no JSON
+        if (record.getPriority() != null) {
+            object.put("p", record.getPriority().name());
+        }
+        if (record.isCompleted()) {
+            object.put("c", true);
+        }
+        object.put("ca", record.getCreatedAt());
+        if (record.getCompletedAt() != Task.NO_TIMESTAMP) {
+            object.put("co", record.getCompletedAt());
+        }
+        if (record.getDueAt() != Task.NO_TIMESTAMP) {
+            object.put("du", record.getDueAt());
+        }
+        return object;
+    }
+
+    private static List<SyncRecord> fromJson(JSONArray array) throws JSONException {
+        List<SyncRecord> records = new ArrayList<>(array.length());
+        for (int i = 0; i < array.length(); i++) {
+            records.add(fromJson(array.getJSONObject(i)));
+        }
+        return records;
+    }
+
+    private static SyncRecord fromJson(JSONObject object) throws JSONException {
+        String uid = object.getString("u");
+        long updatedAt = object.getLong("m");
+        long revision = object.optLong("r");
+        if (object.optBoolean("x")) {
+            return SyncRecord.tombstone(uid, updatedAt).withRevision(revision);
+        }
+        return new SyncRecord(uid, false, updatedAt,
+                object.getString("t"),
+                object.has("d") ? object.getString("d") : null,
+                object.isNull("p") ? null : TaskPriority.valueOf(object.getString("p")),
+                object.optBoolean("c"),
+                object.getLong("ca"),
+                object.optLong("co", Task.NO_TIMESTAMP),
+                object.optLong("du", Task.NO_TIMESTAMP),
+                revision);
+    }
+}
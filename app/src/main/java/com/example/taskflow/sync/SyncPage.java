@@ -0,0 +1,30 @@
+package com.example.taskflow.sync;
+
+import com.example.taskflow.data.model.SyncRecord;
+import java.util.List;
+
+// Uma página de mudanças remotas e o cursor para pedir a próxima
+public class SyncPage {
+
+    private final List<SyncRecord> records;
+    private final long cursor;
+    private final boolean hasMore;
+
+    public SyncPage(List<SyncRecord> records, long cursor, boolean hasMore) {
+        this.records = records;
+        this.cursor = cursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<SyncRecord> getRecords() {
+        return records;
+    }
+
+    public long getCursor() {
+        return cursor;
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.taskflow.sync;
+
+import com.example.taskflow.data.model.SyncRecord;
+import java.io.IOException;
+import java.util.List;
+
+// Canal com o servidor de sincronização; o servidor também resolve conflitos por updatedAt
+public interface SyncTransport {
+
+    // Envia um lote de mudanças locais (linhas completas ou tombstones)
+    void push(List<SyncRecord> records) throws IOException;
+
+    // Mudanças com revisão maior que o cursor, em ordem de revisão, até limit registros
+    SyncPage pull(long cursor, int limit) throws IOException;
+}
@@ -0,0 +1,59 @@
+package com.example.taskflow.sync;
+
+import android.content.Context;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+import com.example.taskflow.ServiceLocator;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Sincronização periódica em background; falhas de rede são repetidas com backoff
+public class SyncWorker extends Worker {
+
+    private static final String TAG = "SyncWorker";
+    private static final String WORK_NAME = "task-sync";
+
+    public SyncWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    // Agenda a sincronização periódica, se houver servidor configurado
+    public static void schedule(Context context) {
+        if (ServiceLocator.getSyncEngine(context) == null) {
+            return;
+        }
+        Constraints constraints = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.CONNECTED)
+                .build();
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(SyncWorker.class,
+                15, TimeUnit.MINUTES)
+                .setConstraints(constraints)
+                .build();
+        WorkManager.getInstance(context).enqueueUniquePeriodicWork(WORK_NAME,
+                ExistingPeriodicWorkPolicy.KEEP, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        SyncEngine engine = ServiceLocator.getSyncEngine(getApplicationContext());
+        if (engine == null) {
+            return Result.success();
+        }
+        try {
+            SyncEngine.SyncResult result = engine.sync();
+            Log.d(TAG, "Enviadas " + result.getPushed() + ", recebidas " + result.getPulled());
+            return Result.success();
+        } catch (IOException e) {
+            Log.w(TAG, "Falha na sincronização", e);
+            return Result.retry();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.taskflow.util;
+
+// Relógio compartilhado pelo app: entidades e repositório leem o horário daqui
+public final class AppClock {
+
+    private static final Clock SYSTEM = System::currentTimeMillis;
+
+    private static volatile Clock current = SYSTEM;
+
+    private AppClock() {
+    }
+
+    public static long now() {
+        return current.currentTimeMillis();
+    }
+
+    public static void set(Clock clock) {
+        current = clock != null ? clock : SYSTEM;
+    }
+
+    public static void reset() {
+        current = SYSTEM;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.taskflow.util;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Conjunto único de executores do app. Repositórios, ViewModels e o banco compartilham
+ * estas threads em vez de cada instância criar as suas. Testes podem criar um conjunto
+ * próprio e encerrá-lo com {@link #shutdown()}.
+ */
+public final class AppExecutors {
+
+    private static volatile AppExecutors INSTANCE;
+
+    private final ExecutorService queryExecutor;
+    private final ExecutorService transactionExecutor;
+    private final ScheduledExecutorService writeExecutor;
+    private final ExecutorService backgroundExecutor;
+
+    public AppExecutors() {
+        // Leituras do Room (LiveData, PagingSource) podem rodar em paralelo; o WAL permite
+        int readers = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        queryExecutor = Executors.newFixedThreadPool(readers, named("taskflow-query"));
+        transactionExecutor = Executors.newSingleThreadExecutor(named("taskflow-transaction"));
+        // Uma única thread de escrita: o SQLite só aceita um escritor por vez
+        writeExecutor = Executors.newSingleThreadScheduledExecutor(named("taskflow-write"));
+        backgroundExecutor = Executors.newSingleThreadExecutor(named("taskflow-background"));
+    }
+
+    public static AppExecutors getInstance() {
+        if (INSTANCE == null) {
+            synchronized (AppExecutors.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new AppExecutors();
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    // Executor de consultas do Room
+    public Executor queryExecutor() {
+        return queryExecutor;
+    }
+
+    // Executor de transações do Room
+    public Executor transactionExecutor() {
+        return transactionExecutor;
+    }
+
+    // Thread da fila de escrita (TaskWriteQueue), com suporte à janela de agrupamento
+    public ScheduledExecutorService writeExecutor() {
+        return writeExecutor;
+    }
+
+    // Trabalho leve fora da main thread (ex.: preparar rótulos das páginas carregadas)
+    public Executor backgroundExecutor() {
+        return backgroundExecutor;
+    }
+
+    // Encerra as threads; tarefas já enfileiradas ainda terminam
+    public void shutdown() {
+        queryExecutor.shutdown();
+        transactionExecutor.shutdown();
+        writeExecutor.shutdown();
+        backgroundExecutor.shutdown();
+    }
+
+    private static ThreadFactory named(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
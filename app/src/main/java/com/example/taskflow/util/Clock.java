@@ -0,0 +1,6 @@
+package com.example.taskflow.util;
+
+// Fonte de tempo em epoch millis; permite fixar o horário em testes
+public interface Clock {
+    long currentTimeMillis();
+}
@@ -0,0 +1,104 @@
+package com.example.taskflow.util;
+
+import android.util.LongSparseArray;
+import com.example.taskflow.data.model.TaskListItem;
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * Gera os rótulos "Criada em: dd/MM/yyyy HH:mm" / "Concluída em: ..." / "Prazo: ..." da lista.
+ *
+ * Como o rótulo só tem precisão de minuto, cada minuto é formatado uma única vez e o
+ * resultado fica em cache. A formatação reaproveita o mesmo Calendar e StringBuilder
+ * (sem SimpleDateFormat), e os métodos são sincronizados para poderem ser chamados
+ * da thread de diff da lista.
+ */
+public final class TaskDateLabelFormatter {
+
+    private static final String CREATED_PREFIX = "Criada em: ";
+    private static final String COMPLETED_PREFIX = "Concluída em: ";
+    private static final String DUE_PREFIX = "Prazo: ";
+
+    // Tipos de rótulo; ocupam os 2 bits baixos da chave do cache
+    private static final int KIND_CREATED = 0;
+    private static final int KIND_COMPLETED = 1;
+    private static final int KIND_DUE = 2;
+    private static final long MINUTE_MS = 60_000L;
+    private static final int MAX_CACHED_LABELS = 1024;
+
+    private static final TaskDateLabelFormatter INSTANCE =
+            new TaskDateLabelFormatter(TimeZone.getTimeZone("America/Sao_Paulo"));
+
+    private final LongSparseArray<String> labels = new LongSparseArray<>();
+    private final Calendar calendar;
+    private final StringBuilder buffer = new StringBuilder(32);
+
+    TaskDateLabelFormatter(TimeZone timeZone) {
+        calendar = Calendar.getInstance(timeZone);
+    }
+
+    public static TaskDateLabelFormatter getInstance() {
+        return INSTANCE;
+    }
+
+    // Formata antecipadamente (em background) o rótulo que o bind vai usar
+    public void prepare(TaskListItem item) {
+        getLabel(item);
+    }
+
+    // Concluída: data de conclusão; pendente com prazo: o prazo; senão a data de criação
+    public CharSequence getLabel(TaskListItem item) {
+        if (item.isCompleted() && item.hasCompletedAt()) {
+            return getLabel(item.getCompletedAt(), KIND_COMPLETED);
+        }
+        if (!item.isCompleted() && item.hasDueAt()) {
+            return getLabel(item.getDueAt(), KIND_DUE);
+        }
+        return getLabel(item.getCreatedAt(), KIND_CREATED);
+    }
+
+    public String getLabel(long timestamp, boolean completed) {
+        return getLabel(timestamp, completed ? KIND_COMPLETED : KIND_CREATED);
+    }
+
+    // Rótulo do prazo, também usado na tela de edição
+    public String getDueLabel(long timestamp) {
+        return getLabel(timestamp, KIND_DUE);
+    }
+
+    private synchronized String getLabel(long timestamp, int kind) {
+        // Chave: minuto + 2 bits para o tipo de rótulo
+        long key = (Math.floorDiv(timestamp, MINUTE_MS) << 2) | kind;
+        String label = labels.get(key);
+        if (label == null) {
+            if (labels.size() >= MAX_CACHED_LABELS) {
+                labels.clear();
+            }
+            label = format(timestamp, kind);
+            labels.put(key, label);
+        }
+        return label;
+    }
+
+    private String format(long timestamp, int kind) {
+        calendar.setTimeInMillis(timestamp);
+        buffer.setLength(0);
+        buffer.append(kind == KIND_COMPLETED ? COMPLETED_PREFIX
+                : kind == KIND_DUE ? DUE_PREFIX : CREATED_PREFIX);
+        appendTwoDigits(calendar.get(Calendar.DAY_OF_MONTH));
+        buffer.append('/');
+        appendTwoDigits(calendar.get(Calendar.MONTH) + 1);
+        buffer.append('/');
+        buffer.append(calendar.get(Calendar.YEAR));
+        buffer.append(' ');
+        appendTwoDigits(calendar.get(Calendar.HOUR_OF_DAY));
+        buffer.append(':');
+        appendTwoDigits(calendar.get(Calendar.MINUTE));
+        return buffer.toString();
+    }
+
+    private void appendTwoDigits(int value) {
+        buffer.append((char) ('0' + value / 10));
+        buffer.append((char) ('0' + value % 10));
+    }
+}
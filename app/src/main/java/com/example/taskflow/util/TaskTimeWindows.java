@@ -0,0 +1,36 @@
+package com.example.taskflow.util;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * Limites [início, fim) das janelas de prazo da lista, em epoch millis, calculados no fuso
+ * de São Paulo (o mesmo dos rótulos de data).
+ */
+public final class TaskTimeWindows {
+
+    // Também usado pelo seletor de prazo da tela de edição
+    public static final TimeZone TIME_ZONE = TimeZone.getTimeZone("America/Sao_Paulo");
+
+    private TaskTimeWindows() {
+    }
+
+    // Meia-noite do dia de `now`
+    public static long startOfDay(long now) {
+        Calendar calendar = Calendar.getInstance(TIME_ZONE);
+        calendar.setTimeInMillis(now);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        return calendar.getTimeInMillis();
+    }
+
+    // Meia-noite `days` dias depois do dia de `now` (respeita horário de verão)
+    public static long startOfDayAfter(long now, int days) {
+        Calendar calendar = Calendar.getInstance(TIME_ZONE);
+        calendar.setTimeInMillis(startOfDay(now));
+        calendar.add(Calendar.DAY_OF_MONTH, days);
+        return calendar.getTimeInMillis();
+    }
+}
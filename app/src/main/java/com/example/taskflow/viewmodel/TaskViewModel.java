@@ -1,28 +1,124 @@
 package com.example.taskflow.viewmodel;
 
 import android.app.Application;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.ParcelFileDescriptor;
 import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
-import com.example.taskflow.repository.TaskRepository;
+import androidx.lifecycle.LiveDataReactiveStreams;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Transformations;
+import androidx.lifecycle.ViewModelKt;
+import androidx.paging.PagingData;
+import androidx.paging.PagingLiveData;
+import com.example.taskflow.ServiceLocator;
 import com.example.taskflow.data.entity.Task;
 import com.example.taskflow.data.entity.TaskPriority;
-import java.util.Date;
+import com.example.taskflow.data.model.TaskDetailsUpdate;
+import com.example.taskflow.data.model.TaskFilter;
+import com.example.taskflow.data.model.TaskListItem;
+import com.example.taskflow.data.model.TaskSort;
+import com.example.taskflow.data.model.TaskStats;
+import com.example.taskflow.data.model.TaskStatusUpdate;
+import com.example.taskflow.repository.TaskRepository;
+import com.example.taskflow.repository.TaskWriteQueue;
+import com.example.taskflow.util.AppClock;
+import java.io.FileNotFoundException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class TaskViewModel extends AndroidViewModel {
 
+    private static final long SEARCH_DEBOUNCE_MS = 300;
+
     private TaskRepository repository;
-    private LiveData<List<Task>> allTasks;
-    private LiveData<Integer> pendingTasksCount;
-    private LiveData<Integer> completedTasksCount;
+    private LiveData<TaskStats> taskStats;
+
+    // Um único stream para a lista: filtro e ordenação atuais decidem qual consulta alimenta
+    // o adapter
+    private final MutableLiveData<ListSelection> listSelection =
+            new MutableLiveData<>(new ListSelection(TaskFilter.ALL, TaskSort.NEWEST));
+    private final Map<TaskFilter, Map<TaskSort, LiveData<PagingData<TaskListItem>>>>
+            pagedTasksByFilter = new EnumMap<>(TaskFilter.class);
+    private final LiveData<PagingData<TaskListItem>> filteredTasks;
+    private final LiveData<PagingData<TaskListItem>> tasks;
+
+    // Busca com debounce: só consulta depois que o usuário para de digitar
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final MutableLiveData<String> searchQuery = new MutableLiveData<>("");
+    private final LiveData<PagingData<TaskListItem>> searchResults;
+    private String pendingSearchQuery = "";
+    private final Runnable applySearchQuery = () -> {
+        if (!pendingSearchQuery.equals(searchQuery.getValue())) {
+            searchQuery.setValue(pendingSearchQuery);
+        }
+    };
+
+    // Estado otimista: status alterados na lista que ainda não voltaram do banco.
+    // Só é acessado pela main thread
+    private final Map<Long, TaskStatusUpdate> pendingStatus = new HashMap<>();
+    // Ids cuja gravação já foi confirmada; saem do overlay na próxima atualização da lista
+    private final Set<Long> confirmedStatus = new HashSet<>();
+    private final MutableLiveData<Map<Long, TaskStatusUpdate>> statusOverlay =
+            new MutableLiveData<>(Collections.emptyMap());
+    private final MutableLiveData<String> writeError = new MutableLiveData<>();
+    // Backup em andamento: texto de progresso (null quando parado) e mensagem final
+    private final MutableLiveData<String> backupProgress = new MutableLiveData<>();
+    private final MutableLiveData<String> backupMessage = new MutableLiveData<>();
+    private final TaskWriteQueue.StatusWriteListener statusWriteListener =
+            (taskIds, success) -> mainHandler.post(() -> onStatusWritten(taskIds, success));
+    // Toda escrita com falha gera a mensagem, inclusive os toggles (que antes fazem o rollback)
+    private final TaskWriteQueue.WriteFailureListener writeFailureListener =
+            (taskIds, error) -> mainHandler.post(
+                    () -> writeError.setValue("Não foi possível salvar as alterações"));
 
     public TaskViewModel(@NonNull Application application) {
         super(application);
-        repository = new TaskRepository(application);
-        allTasks = repository.getAllTasks();
-        pendingTasksCount = repository.getPendingTasksCount();
-        completedTasksCount = repository.getCompletedTasksCount();
+        // Repositório compartilhado com as outras telas
+        repository = ServiceLocator.getTaskRepository(application);
+        // O stream já chega deduplicado; o LiveData só entrega o valor final na main thread
+        taskStats = LiveDataReactiveStreams.fromPublisher(repository.observeTaskStats());
+        filteredTasks = Transformations.switchMap(listSelection,
+                selection -> getPagedTasks(selection.filter, selection.sort));
+
+        // O switchMap descarta o Pager da busca anterior, cancelando consultas superadas
+        searchResults = PagingLiveData.cachedIn(
+                Transformations.switchMap(searchQuery, repository::searchTasks),
+                ViewModelKt.getViewModelScope(this));
+        tasks = Transformations.switchMap(searchQuery,
+                query -> query.isEmpty() ? filteredTasks : searchResults);
+        repository.addStatusWriteListener(statusWriteListener);
+        repository.addWriteFailureListener(writeFailureListener);
+    }
+
+    // Cada filtro + ordenação tem no máximo uma consulta viva, criada no primeiro uso. É o
+    // único cache de páginas: o repositório cria um Pager novo a cada chamada
+    private LiveData<PagingData<TaskListItem>> getPagedTasks(TaskFilter taskFilter,
+                                                             TaskSort taskSort) {
+        Map<TaskSort, LiveData<PagingData<TaskListItem>>> bySort =
+                pagedTasksByFilter.get(taskFilter);
+        if (bySort == null) {
+            bySort = new EnumMap<>(TaskSort.class);
+            pagedTasksByFilter.put(taskFilter, bySort);
+        }
+        LiveData<PagingData<TaskListItem>> stream = bySort.get(taskSort);
+        if (stream == null) {
+            // cachedIn mantém as páginas carregadas durante mudanças de configuração
+            stream = PagingLiveData.cachedIn(repository.getPagedTasks(taskFilter, taskSort),
+                    ViewModelKt.getViewModelScope(this));
+            bySort.put(taskSort, stream);
+        }
+        return stream;
     }
 
     public void insert(Task task) {
@@ -37,41 +133,268 @@ public class TaskViewModel extends AndroidViewModel {
         repository.delete(task);
     }
 
-    public LiveData<List<Task>> getAllTasks() {
-        return allTasks;
+    public void delete(long taskId) {
+        repository.delete(taskId);
+    }
+
+    public void updateDetails(TaskDetailsUpdate update) {
+        repository.updateDetails(update);
+    }
+
+    /**
+     * Toggle otimista: o novo status aparece na lista imediatamente (overlay aplicado no bind)
+     * e é gravado em background. Se a gravação falhar, o overlay é descartado e a lista
+     * volta a mostrar o que está no banco.
+     */
+    public void setCompleted(long taskId, boolean completed) {
+        TaskStatusUpdate update = new TaskStatusUpdate(taskId, completed,
+                completed ? AppClock.now() : Task.NO_TIMESTAMP);
+        pendingStatus.put(taskId, update);
+        confirmedStatus.remove(taskId);
+        publishStatusOverlay();
+        repository.updateStatus(update);
     }
 
-    public LiveData<List<Task>> getPendingTasks() {
-        return repository.getPendingTasks();
+    // Status pendentes por id, para o adapter sobrepor aos itens carregados
+    public LiveData<Map<Long, TaskStatusUpdate>> getStatusOverlay() {
+        return statusOverlay;
     }
 
-    public LiveData<List<Task>> getCompletedTasks() {
-        return repository.getCompletedTasks();
+    // Mensagem de falha ao gravar qualquer alteração; consumida pela tela com consumeWriteError()
+    public LiveData<String> getWriteError() {
+        return writeError;
     }
 
-    public LiveData<List<Task>> getHighPriorityTasks() {
-        return repository.getHighPriorityTasks();
+    public void consumeWriteError() {
+        writeError.setValue(null);
     }
 
-    public LiveData<Integer> getPendingTasksCount() {
-        return pendingTasksCount;
+    // Exporta para um documento escolhido pelo usuário (Storage Access Framework)
+    public void exportBackup(Uri uri) {
+        ParcelFileDescriptor descriptor;
+        try {
+            descriptor = getApplication().getContentResolver().openFileDescriptor(uri, "wt");
+        } catch (FileNotFoundException e) {
+            backupMessage.setValue("Não foi possível criar o arquivo");
+            return;
+        }
+        if (descriptor == null) {
+            backupMessage.setValue("Não foi possível criar o arquivo");
+            return;
+        }
+        backupProgress.setValue("Exportando…");
+        repository.exportBackup(
+                new ParcelFileDescriptor.AutoCloseOutputStream(descriptor).getChannel(),
+                new BackupReporter("Exportando", "tarefas exportadas", ""));
     }
 
-    public LiveData<Integer> getCompletedTasksCount() {
-        return completedTasksCount;
+    public void importBackup(Uri uri) {
+        ParcelFileDescriptor descriptor;
+        try {
+            descriptor = getApplication().getContentResolver().openFileDescriptor(uri, "r");
+        } catch (FileNotFoundException e) {
+            backupMessage.setValue("Não foi possível abrir o arquivo");
+            return;
+        }
+        if (descriptor == null) {
+            backupMessage.setValue("Não foi possível abrir o arquivo");
+            return;
+        }
+        backupProgress.setValue("Importando…");
+        repository.importBackup(
+                new ParcelFileDescriptor.AutoCloseInputStream(descriptor).getChannel(),
+                new BackupReporter("Importando", "tarefas importadas",
+                        " (as tarefas já importadas foram mantidas; importe de novo para completar)"));
     }
 
-    public void toggleTaskCompletion(Task task) {
-        task.setCompleted(!task.isCompleted());
-        if (task.isCompleted()) {
-            task.setCompletedAt(new Date());
+    public LiveData<String> getBackupProgress() {
+        return backupProgress;
+    }
+
+    // Resultado do último backup; consumido pela tela com consumeBackupMessage()
+    public LiveData<String> getBackupMessage() {
+        return backupMessage;
+    }
+
+    public void consumeBackupMessage() {
+        backupMessage.setValue(null);
+    }
+
+    // Repassa o progresso (thread do backup) com postValue, que já descarta valores superados
+    private class BackupReporter implements TaskRepository.BackupCallback {
+
+        private final String action;
+        private final String finishedSuffix;
+        private final String failedSuffix;
+
+        BackupReporter(String action, String finishedSuffix, String failedSuffix) {
+            this.action = action;
+            this.finishedSuffix = finishedSuffix;
+            this.failedSuffix = failedSuffix;
+        }
+
+        @Override
+        public void onProgress(long done, long total) {
+            int percent = total > 0 ? (int) (done * 100 / total) : 100;
+            backupProgress.postValue(action + "… " + percent + "%");
+        }
+
+        @Override
+        public void onFinished(long count) {
+            backupProgress.postValue(null);
+            backupMessage.postValue(count + " " + finishedSuffix);
+        }
+
+        @Override
+        public void onFailed(Exception error) {
+            backupProgress.postValue(null);
+            backupMessage.postValue("Falha no backup: " + error.getMessage() + failedSuffix);
+        }
+    }
+
+    /**
+     * Chamado a cada atualização das páginas da lista: descarta do overlay os itens cujo
+     * valor no banco já é o esperado, e os confirmados que nem estão mais carregados.
+     */
+    public void reconcileStatusOverlay(List<TaskListItem> loadedItems) {
+        if (pendingStatus.isEmpty()) {
+            return;
+        }
+        boolean changed = false;
+        Set<Long> loadedIds = new HashSet<>();
+        for (TaskListItem item : loadedItems) {
+            if (item == null) {
+                continue;
+            }
+            loadedIds.add(item.getId());
+            TaskStatusUpdate pending = pendingStatus.get(item.getId());
+            if (pending != null && pending.isCompleted() == item.isCompleted()) {
+                pendingStatus.remove(item.getId());
+                confirmedStatus.remove(item.getId());
+                changed = true;
+            }
+        }
+        Iterator<Long> confirmed = confirmedStatus.iterator();
+        while (confirmed.hasNext()) {
+            Long id = confirmed.next();
+            if (!loadedIds.contains(id)) {
+                pendingStatus.remove(id);
+                confirmed.remove();
+                changed = true;
+            }
+        }
+        if (changed) {
+            publishStatusOverlay();
+        }
+    }
+
+    private void onStatusWritten(Collection<Long> taskIds, boolean success) {
+        if (success) {
+            for (Long id : taskIds) {
+                if (pendingStatus.containsKey(id)) {
+                    confirmedStatus.add(id);
+                }
+            }
+            return;
+        }
+        // Rollback: sem o overlay, a lista mostra de novo o valor do banco
+        boolean changed = false;
+        for (Long id : taskIds) {
+            changed |= pendingStatus.remove(id) != null;
+            confirmedStatus.remove(id);
+        }
+        if (changed) {
+            publishStatusOverlay();
+        }
+    }
+
+    private void publishStatusOverlay() {
+        statusOverlay.setValue(Collections.unmodifiableMap(new HashMap<>(pendingStatus)));
+    }
+
+    public LiveData<Task> getTask(long taskId) {
+        return repository.getTask(taskId);
+    }
+
+    public void completeTasks(Collection<Long> ids) {
+        repository.completeTasks(ids);
+    }
+
+    public void markTasksPending(Collection<Long> ids) {
+        repository.markTasksPending(ids);
+    }
+
+    public void changePriority(Collection<Long> ids, TaskPriority priority) {
+        repository.changePriority(ids, priority);
+    }
+
+    public void deleteTasks(Collection<Long> ids) {
+        repository.deleteTasks(ids);
+    }
+
+    public void deleteCompletedTasks() {
+        repository.deleteCompletedTasks();
+    }
+
+    public void setFilter(TaskFilter taskFilter) {
+        ListSelection current = listSelection.getValue();
+        if (taskFilter != current.filter) {
+            listSelection.setValue(new ListSelection(taskFilter, current.sort));
+        }
+    }
+
+    public TaskFilter getFilter() {
+        return listSelection.getValue().filter;
+    }
+
+    public void setSort(TaskSort taskSort) {
+        ListSelection current = listSelection.getValue();
+        if (taskSort != current.sort) {
+            listSelection.setValue(new ListSelection(current.filter, taskSort));
+        }
+    }
+
+    public TaskSort getSort() {
+        return listSelection.getValue().sort;
+    }
+
+    public LiveData<PagingData<TaskListItem>> getTasks() {
+        return tasks;
+    }
+
+    public void setSearchQuery(String query) {
+        pendingSearchQuery = query == null ? "" : query.trim();
+        mainHandler.removeCallbacks(applySearchQuery);
+        if (pendingSearchQuery.isEmpty()) {
+            // Limpar a busca volta para a lista filtrada imediatamente
+            applySearchQuery.run();
         } else {
-            task.setCompletedAt(null);
+            mainHandler.postDelayed(applySearchQuery, SEARCH_DEBOUNCE_MS);
         }
-        update(task);
     }
 
-    public void deleteTask(Task task) {
-        delete(task);
+    public LiveData<TaskStats> getTaskStats() {
+        return taskStats;
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        mainHandler.removeCallbacks(applySearchQuery);
+        repository.removeStatusWriteListener(statusWriteListener);
+        repository.removeWriteFailureListener(writeFailureListener);
+    }
+
+    // Filtro e ordenação mudam juntos numa única emissão; setFilter e setSort só publicam
+    // quando um deles muda de fato
+    private static final class ListSelection {
+
+        final TaskFilter filter;
+        final TaskSort sort;
+
+        ListSelection(TaskFilter filter, TaskSort sort) {
+            this.filter = filter;
+            this.sort = sort;
+        }
     }
-}
\ No newline at end of file
+}
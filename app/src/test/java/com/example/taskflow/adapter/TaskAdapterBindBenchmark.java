@@ -0,0 +1,62 @@
+package com.example.taskflow.adapter;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.widget.FrameLayout;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.taskflow.R;
+import com.example.taskflow.ServiceLocator;
+import com.example.taskflow.benchmark.BenchmarkReport;
+import com.example.taskflow.data.entity.Task;
+import com.example.taskflow.data.entity.TaskPriority;
+import com.example.taskflow.data.model.TaskListItem;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Tempo de TaskViewHolder.bind por linha, com tarefas pendentes e concluídas alternadas
+@RunWith(RobolectricTestRunner.class)
+public class TaskAdapterBindBenchmark {
+
+    private static final int ROWS = 1_000;
+
+    @Before
+    public void assumeEnabled() {
+        Assume.assumeTrue(BenchmarkReport.isEnabled());
+    }
+
+    @Test
+    public void bindPerRow() throws Exception {
+        Context context = new ContextThemeWrapper(
+                ApplicationProvider.getApplicationContext(), R.style.Theme_TaskFlow);
+        TaskAdapter adapter = new TaskAdapter(context,
+                ServiceLocator.getExecutors().backgroundExecutor());
+        TaskAdapter.TaskViewHolder holder = adapter.onCreateViewHolder(new FrameLayout(context), 0);
+
+        List<TaskListItem> tasks = new ArrayList<>(ROWS);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < ROWS; i++) {
+            boolean completed = i % 3 == 0;
+            tasks.add(new TaskListItem(i + 1, "Tarefa " + i, i % 2 == 0 ? "Descrição " + i : null,
+                    TaskPriority.values()[i % 3], completed, now - i * 60_000L,
+                    completed ? now : Task.NO_TIMESTAMP,
+                    i % 4 == 0 ? now + i * 3_600_000L : Task.NO_TIMESTAMP));
+        }
+
+        BenchmarkReport report = new BenchmarkReport("task_adapter_bind");
+        report.measure("TaskViewHolder.bind", ROWS, 5, 20, () -> {
+            for (TaskListItem task : tasks) {
+                holder.bind(task);
+            }
+        });
+        report.write();
+    }
+}
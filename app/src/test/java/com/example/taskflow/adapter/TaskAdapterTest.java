@@ -0,0 +1,150 @@
+package com.example.taskflow.adapter;
+
+import android.content.Context;
+import android.os.Looper;
+import android.view.ContextThemeWrapper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.LifecycleRegistry;
+import androidx.paging.PagingData;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.taskflow.R;
+import com.example.taskflow.ServiceLocator;
+import com.example.taskflow.data.entity.Task;
+import com.example.taskflow.data.entity.TaskPriority;
+import com.example.taskflow.data.model.TaskListItem;
+import com.example.taskflow.data.model.TaskStatusUpdate;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+@RunWith(RobolectricTestRunner.class)
+public class TaskAdapterTest {
+
+    private TaskAdapter adapter;
+    private ResumedOwner owner;
+    // Posições rebindadas só com o payload de status
+    private final List<Integer> statusChanges = new ArrayList<>();
+    // Posições rebindadas por inteiro (sem payload)
+    private final List<Integer> fullChanges = new ArrayList<>();
+
+    @Before
+    public void setUp() throws InterruptedException {
+        Context context = new ContextThemeWrapper(
+                ApplicationProvider.getApplicationContext(), R.style.Theme_TaskFlow);
+        adapter = new TaskAdapter(context, ServiceLocator.getExecutors().backgroundExecutor());
+        owner = new ResumedOwner();
+        adapter.submitData(owner.getLifecycle(),
+                PagingData.from(Arrays.asList(item(1, false), item(2, false), item(3, true))));
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (adapter.getItemCount() < 3 && System.currentTimeMillis() < deadline) {
+            shadowOf(Looper.getMainLooper()).idle();
+            Thread.sleep(10);
+        }
+        assertEquals(3, adapter.getItemCount());
+
+        adapter.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount,
+                                           @Nullable Object payload) {
+                List<Integer> changes = TaskAdapter.PAYLOAD_STATUS.equals(payload)
+                        ? statusChanges : fullChanges;
+                for (int i = 0; i < itemCount; i++) {
+                    changes.add(positionStart + i);
+                }
+            }
+        });
+    }
+
+    @Test
+    public void withStatusOverlay_showsPendingStatus() {
+        adapter.setStatusOverlay(Collections.singletonMap(2L,
+                new TaskStatusUpdate(2, true, 5_000L)));
+
+        TaskListItem shown = adapter.withStatusOverlay(item(2, false));
+        assertTrue(shown.isCompleted());
+        assertEquals(5_000L, shown.getCompletedAt());
+
+        // Sem overlay, ou com o banco já no mesmo estado, o item é usado como está
+        TaskListItem other = item(1, false);
+        assertSame(other, adapter.withStatusOverlay(other));
+        TaskListItem written = new TaskListItem(2, "Tarefa 2", null, TaskPriority.MEDIUM, true,
+                1_000L, 5_000L, Task.NO_TIMESTAMP);
+        assertSame(written, adapter.withStatusOverlay(written));
+    }
+
+    @Test
+    public void setStatusOverlay_rebindsOnlyChangedItems() {
+        Map<Long, TaskStatusUpdate> overlay = Collections.singletonMap(2L,
+                new TaskStatusUpdate(2, true, 5_000L));
+
+        adapter.setStatusOverlay(overlay);
+        assertEquals(Collections.singletonList(1), statusChanges);
+
+        // Mesmo overlay publicado de novo: nada a rebindar
+        statusChanges.clear();
+        adapter.setStatusOverlay(Collections.unmodifiableMap(overlay));
+        assertTrue(statusChanges.isEmpty());
+
+        // Revertido (falha) ou reconciliado: o item volta a mostrar o valor do banco
+        adapter.setStatusOverlay(Collections.emptyMap());
+        assertEquals(Collections.singletonList(1), statusChanges);
+        assertSame(adapter.snapshot().get(1), adapter.withStatusOverlay(adapter.snapshot().get(1)));
+    }
+
+    @Test
+    public void submitData_rebindsItemWhenOnlyDueDateChanges() throws InterruptedException {
+        TaskListItem rescheduled = new TaskListItem(2, "Tarefa 2", null, TaskPriority.MEDIUM,
+                false, 2_000L, Task.NO_TIMESTAMP, 90_000L);
+        adapter.submitData(owner.getLifecycle(),
+                PagingData.from(Arrays.asList(item(1, false), rescheduled, item(3, true))));
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (adapter.snapshot().get(1).getDueAt() != 90_000L
+                && System.currentTimeMillis() < deadline) {
+            shadowOf(Looper.getMainLooper()).idle();
+            Thread.sleep(10);
+        }
+
+        // O prazo aparece no rótulo de data: o item é rebindado por inteiro
+        assertEquals(Collections.singletonList(1), fullChanges);
+        assertTrue(statusChanges.isEmpty());
+    }
+
+    private static TaskListItem item(long id, boolean completed) {
+        return new TaskListItem(id, "Tarefa " + id, null, TaskPriority.MEDIUM, completed,
+                1_000L * id, completed ? 2_000L : Task.NO_TIMESTAMP, Task.NO_TIMESTAMP);
+    }
+
+    private static final class ResumedOwner implements LifecycleOwner {
+
+        private final LifecycleRegistry registry = new LifecycleRegistry(this);
+
+        ResumedOwner() {
+            registry.setCurrentState(Lifecycle.State.RESUMED);
+        }
+
+        @NonNull
+        @Override
+        public Lifecycle getLifecycle() {
+            return registry;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.taskflow.backup;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.taskflow.data.database.TaskDatabase;
+import com.example.taskflow.data.entity.Task;
+import com.example.taskflow.data.entity.TaskPriority;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.File;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class TaskBackupTest {
+
+    // Mais de dois blocos, com um bloco final incompleto
+    private static final int TASKS = TaskBackup.CHUNK_SIZE * 2 + 37;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private TaskDatabase source;
+    private TaskDatabase target;
+
+    @Before
+    public void setUp() {
+        source = newDatabase();
+        target = newDatabase();
+    }
+
+    @After
+    public void tearDown() {
+        source.close();
+        target.close();
+    }
+
+    @Test
+    public void exportThenImport_copiesEveryTask() throws Exception {
+        List<Task> tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task("Tarefa " + i, i % 2 == 0 ? "Linha 1\nLinha \"2\"" : null,
+                    TaskPriority.values()[i % 3]);
+            task.setDueAt(i % 5 == 0 ? 1_000_000L + i : Task.NO_TIMESTAMP);
+            if (i % 4 == 0) {
+                task.markAsCompleted();
+            }
+            tasks.add(task);
+        }
+        source.taskDao().insertAll(tasks);
+
+        File file = folder.newFile("backup.jsonl");
+        List<Long> exportProgress = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            long exported = new TaskBackup(source).exportTo(channel,
+                    (done, total) -> exportProgress.add(done));
+            assertEquals(TASKS, exported);
+        }
+        assertMonotonic(exportProgress);
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            assertEquals(TASKS, new TaskBackup(target).importFrom(channel, (done, total) -> { }));
+        }
+
+        assertEquals(TASKS, target.taskDao().countTasks());
+        Task original = source.taskDao().loadChunkAfter(0, 1).get(0);
+        Task copy = target.taskDao().loadChunkAfter(0, 1).get(0);
+        assertEquals(original.getUid(), copy.getUid());
+        assertEquals(original.getTitle(), copy.getTitle());
+        assertEquals(original.getDescription(), copy.getDescription());
+        assertEquals(original.getPriority(), copy.getPriority());
+        assertEquals(original.getPriorityRank(), copy.getPriorityRank());
+        assertEquals(original.isCompleted(), copy.isCompleted());
+        assertEquals(original.getCreatedAt(), copy.getCreatedAt());
+        assertEquals(original.getCompletedAt(), copy.getCompletedAt());
+        assertEquals(original.getDueAt(), copy.getDueAt());
+        assertEquals(original.getUpdatedAt(), copy.getUpdatedAt());
+    }
+
+    @Test
+    public void importingTwice_doesNotDuplicate() throws Exception {
+        source.taskDao().insert(new Task("Única", null, TaskPriority.LOW));
+        File file = folder.newFile("backup.jsonl");
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            new TaskBackup(source).exportTo(channel, (done, total) -> { });
+        }
+
+        for (int i = 0; i < 2; i++) {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                long inserted = new TaskBackup(target).importFrom(channel, (done, total) -> { });
+                assertEquals(i == 0 ? 1 : 0, inserted);
+            }
+        }
+        assertEquals(1, target.taskDao().countTasks());
+        assertNull(target.taskDao().loadChunkAfter(0, 1).get(0).getDescription());
+    }
+
+    private static void assertMonotonic(List<Long> progress) {
+        assertTrue(progress.size() >= 3);
+        for (int i = 1; i < progress.size(); i++) {
+            assertTrue(progress.get(i) >= progress.get(i - 1));
+        }
+        assertEquals(TASKS, (long) progress.get(progress.size() - 1));
+    }
+
+    private static TaskDatabase newDatabase() {
+        Context context = ApplicationProvider.getApplicationContext();
+        return Room.inMemoryDatabaseBuilder(context, TaskDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.taskflow.benchmark;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Mede trechos de código e grava os resultados em JSON
+ * (build/reports/benchmarks/&lt;suite&gt;.json) para comparar execuções locais.
+ *
+ * Os benchmarks só rodam com -Ptaskflow.benchmark=true; no build normal são ignorados.
+ */
+public final class BenchmarkReport {
+
+    public static final String ENABLED_PROPERTY = "taskflow.benchmark";
+    public static final String REPORT_DIR_PROPERTY = "taskflow.benchmark.reportDir";
+
+    private final String suite;
+    private final List<String> results = new ArrayList<>();
+
+    public BenchmarkReport(String suite) {
+        this.suite = suite;
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    /**
+     * Executa body em warmupRuns rodadas descartadas e depois em runs rodadas medidas.
+     * Cada rodada executa operationsPerRun operações; os tempos são reportados por operação.
+     */
+    public void measure(String name, long operationsPerRun, int warmupRuns, int runs, Runnable body) {
+        for (int i = 0; i < warmupRuns; i++) {
+            body.run();
+        }
+        long[] nsPerOp = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            body.run();
+            nsPerOp[i] = (System.nanoTime() - start) / operationsPerRun;
+        }
+        record(name, operationsPerRun, nsPerOp);
+    }
+
+    // Registra tempos já medidos (em ns por operação)
+    public void record(String name, long operationsPerRun, long[] nsPerOp) {
+        long[] sorted = nsPerOp.clone();
+        Arrays.sort(sorted);
+        long median = percentile(sorted, 0.50);
+        long p99 = percentile(sorted, 0.99);
+        double opsPerSecond = median == 0 ? 0 : 1_000_000_000.0 / median;
+
+        results.add(String.format(Locale.ROOT,
+                "{\"name\":\"%s\",\"operationsPerRun\":%d,\"runs\":%d,"
+                        + "\"medianNsPerOp\":%d,\"p99NsPerOp\":%d,\"minNsPerOp\":%d,"
+                        + "\"opsPerSecond\":%.1f}",
+                escape(name), operationsPerRun, sorted.length, median, p99, sorted[0], opsPerSecond));
+        System.out.println(String.format(Locale.ROOT, "[%s] %s: median=%dns/op p99=%dns/op",
+                suite, name, median, p99));
+    }
+
+    // Registra um valor que não é tempo por operação (ex.: throughput, contagens)
+    public void recordValue(String name, String unit, double value) {
+        results.add(String.format(Locale.ROOT, "{\"name\":\"%s\",\"unit\":\"%s\",\"value\":%.1f}",
+                escape(name), escape(unit), value));
+        System.out.println(String.format(Locale.ROOT, "[%s] %s: %.1f %s", suite, name, value, unit));
+    }
+
+    public File write() throws IOException {
+        File dir = new File(System.getProperty(REPORT_DIR_PROPERTY, "build/reports/benchmarks"));
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Não foi possível criar " + dir);
+        }
+        File file = new File(dir, suite + ".json");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            writer.write("{\"suite\":\"" + escape(suite) + "\",\"results\":[");
+            for (int i = 0; i < results.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(results.get(i));
+            }
+            writer.write("]}\n");
+        }
+        return file;
+    }
+
+    static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
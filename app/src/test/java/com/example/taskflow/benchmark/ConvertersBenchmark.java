@@ -0,0 +1,40 @@
+package com.example.taskflow.benchmark;
+
+import com.example.taskflow.data.converter.Converters;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Date;
+
+import static org.junit.Assert.assertTrue;
+
+public class ConvertersBenchmark {
+
+    private static final int OPERATIONS = 100_000;
+
+    @Before
+    public void assumeEnabled() {
+        Assume.assumeTrue(BenchmarkReport.isEnabled());
+    }
+
+    @Test
+    public void dateRoundTrip() throws Exception {
+        BenchmarkReport report = new BenchmarkReport("converters");
+        long base = System.currentTimeMillis();
+        long[] checksum = new long[1];
+
+        report.measure("Date -> Long -> Date", OPERATIONS, 5, 20, () -> {
+            long sum = 0;
+            for (int i = 0; i < OPERATIONS; i++) {
+                Long timestamp = Converters.dateToTimestamp(new Date(base + i));
+                sum += Converters.fromTimestamp(timestamp).getTime();
+            }
+            checksum[0] = sum;
+        });
+
+        report.write();
+        assertTrue(checksum[0] != 0);
+    }
+}
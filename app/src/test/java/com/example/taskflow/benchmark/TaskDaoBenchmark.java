@@ -0,0 +1,114 @@
+package com.example.taskflow.benchmark;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.taskflow.data.dao.TaskDao;
+import com.example.taskflow.data.database.TaskDatabase;
+import com.example.taskflow.data.entity.Task;
+import com.example.taskflow.data.entity.TaskPriority;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.ParameterizedRobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Throughput de insert, update e consulta do {@link TaskDao} com 1k, 10k e 100k linhas,
+ * usando o SQLite do Robolectric em memória.
+ */
+@RunWith(ParameterizedRobolectricTestRunner.class)
+public class TaskDaoBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int PAGE_SIZE = 50;
+
+    @ParameterizedRobolectricTestRunner.Parameters(name = "rows={0}")
+    public static Collection<Object[]> rowCounts() {
+        return Arrays.asList(new Object[][]{{1_000}, {10_000}, {100_000}});
+    }
+
+    private final int rowCount;
+    private TaskDatabase database;
+    private TaskDao taskDao;
+
+    public TaskDaoBenchmark(int rowCount) {
+        this.rowCount = rowCount;
+    }
+
+    @Before
+    public void setUp() {
+        Assume.assumeTrue(BenchmarkReport.isEnabled());
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, TaskDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        taskDao = database.taskDao();
+    }
+
+    @After
+    public void tearDown() {
+        if (database != null) {
+            database.close();
+        }
+    }
+
+    @Test
+    public void insertUpdateQuery() throws Exception {
+        BenchmarkReport report = new BenchmarkReport("task_dao_" + rowCount);
+
+        // Insert: uma única rodada, já que cada rodada aumentaria a tabela
+        long start = System.nanoTime();
+        insertRows(rowCount);
+        report.record("insert", rowCount, new long[]{(System.nanoTime() - start) / rowCount});
+
+        List<Task> page = taskDao.loadTasksByStatus(false, PAGE_SIZE);
+        report.measure("update page", page.size(), 3, 20, () -> {
+            for (Task task : page) {
+                task.setTitle(task.getTitle() + "!");
+            }
+            taskDao.updateAll(page);
+        });
+
+        report.measure("query first page by status", 1, 10, 50,
+                () -> taskDao.loadTasksByStatus(false, PAGE_SIZE));
+
+        report.measure("query stats", 1, 5, 20, () -> database.query(
+                "SELECT COUNT(*) FROM tasks WHERE isCompleted = 0", null).close());
+
+        report.write();
+        assertEquals(PAGE_SIZE, taskDao.loadTasksByStatus(false, PAGE_SIZE).size());
+    }
+
+    private void insertRows(int count) {
+        List<Task> batch = new ArrayList<>(BATCH_SIZE);
+        database.runInTransaction(() -> {
+            for (int i = 0; i < count; i++) {
+                Task task = new Task("Tarefa " + i, "Descrição da tarefa " + i,
+                        TaskPriority.values()[i % 3]);
+                if (i % 4 == 0) {
+                    task.markAsCompleted();
+                }
+                batch.add(task);
+                if (batch.size() == BATCH_SIZE) {
+                    taskDao.insertAll(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                taskDao.insertAll(batch);
+            }
+        });
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.taskflow.benchmark;
+
+import com.example.taskflow.data.database.TaskDatabase;
+import com.example.taskflow.data.entity.Task;
+import com.example.taskflow.data.entity.TaskPriority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Gera tarefas sintéticas com distribuições configuráveis. A mesma semente e o mesmo
+ * instante de referência produzem sempre os mesmos dados, então execuções diferentes do
+ * harness comparam a mesma base.
+ */
+public final class TaskDataGenerator {
+
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+    private static final String[] WORDS = {
+            "relatório", "reunião", "cliente", "revisar", "enviar", "orçamento", "projeto",
+            "ligar", "comprar", "agendar", "corrigir", "entrega", "planilha", "contrato",
+            "pagamento", "equipe", "apresentação", "documento", "viagem", "médico"
+    };
+
+    private final Config config;
+    private final Random random;
+
+    public TaskDataGenerator(Config config) {
+        this.config = config;
+        this.random = new Random(config.seed);
+    }
+
+    // Próximo lote de até count tarefas; chamadas sucessivas continuam a mesma sequência
+    public List<Task> next(int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(nextTask());
+        }
+        return tasks;
+    }
+
+    /**
+     * Insere total tarefas em transações de batchSize linhas, sem manter todas na memória.
+     * Retorna o tempo gasto em nanos.
+     */
+    public long populate(TaskDatabase database, int total, int batchSize) {
+        long start = System.nanoTime();
+        for (int inserted = 0; inserted < total; inserted += batchSize) {
+            List<Task> batch = next(Math.min(batchSize, total - inserted));
+            database.runInTransaction(() -> database.taskDao().insertAll(batch));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private Task nextTask() {
+        Task task = new Task(words(2 + random.nextInt(5)), description(), priority());
+        // UUID derivado do Random: determinístico, ao contrário de UUID.randomUUID()
+        task.setUid(new UUID(random.nextLong(), random.nextLong()).toString());
+        long createdAt = config.now - (long) (random.nextDouble() * config.createdSpreadDays * DAY_MS);
+        task.setCreatedAt(createdAt);
+        task.setUpdatedAt(createdAt);
+        if (random.nextDouble() < config.completedRatio) {
+            long completedAt = createdAt + (long) (random.nextDouble() * (config.now - createdAt));
+            task.setCompleted(true);
+            task.setCompletedAt(completedAt);
+            task.setUpdatedAt(completedAt);
+        }
+        if (random.nextDouble() < config.dueRatio) {
+            // Prazos entre dueSpreadDays atrás e dueSpreadDays à frente
+            double offset = (random.nextDouble() * 2 - 1) * config.dueSpreadDays * DAY_MS;
+            task.setDueAt(Math.max(1, config.now + (long) offset));
+        }
+        return task;
+    }
+
+    private TaskPriority priority() {
+        double value = random.nextDouble() * (config.highWeight + config.mediumWeight + config.lowWeight);
+        if (value < config.highWeight) {
+            return TaskPriority.HIGH;
+        }
+        return value < config.highWeight + config.mediumWeight ? TaskPriority.MEDIUM : TaskPriority.LOW;
+    }
+
+    // Comprimento com distribuição exponencial em torno da média, limitado ao máximo
+    private String description() {
+        if (random.nextDouble() < config.emptyDescriptionRatio) {
+            return null;
+        }
+        int length = (int) Math.min(config.maxDescriptionLength,
+                -Math.log(1 - random.nextDouble()) * config.meanDescriptionLength);
+        StringBuilder text = new StringBuilder(length + 16);
+        while (text.length() < length) {
+            if (text.length() > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private String words(int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    public static final class Config {
+
+        private long seed = 42;
+        private long now = 1_700_000_000_000L;
+        private double highWeight = 0.2;
+        private double mediumWeight = 0.5;
+        private double lowWeight = 0.3;
+        private double completedRatio = 0.4;
+        private double emptyDescriptionRatio = 0.3;
+        private int meanDescriptionLength = 120;
+        private int maxDescriptionLength = 4_000;
+        private int createdSpreadDays = 365;
+        private double dueRatio = 0.3;
+        private int dueSpreadDays = 30;
+
+        public Config seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        // Instante de referência das datas geradas (epoch millis)
+        public Config now(long now) {
+            this.now = now;
+            return this;
+        }
+
+        public Config priorityWeights(double high, double medium, double low) {
+            this.highWeight = high;
+            this.mediumWeight = medium;
+            this.lowWeight = low;
+            return this;
+        }
+
+        public Config completedRatio(double ratio) {
+            this.completedRatio = ratio;
+            return this;
+        }
+
+        public Config descriptionLength(double emptyRatio, int mean, int max) {
+            this.emptyDescriptionRatio = emptyRatio;
+            this.meanDescriptionLength = mean;
+            this.maxDescriptionLength = max;
+            return this;
+        }
+
+        public Config createdSpreadDays(int days) {
+            this.createdSpreadDays = days;
+            return this;
+        }
+
+        public Config dueDates(double ratio, int spreadDays) {
+            this.dueRatio = ratio;
+            this.dueSpreadDays = spreadDays;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,405 @@
+package com.example.taskflow.benchmark;
+
+import android.content.Context;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.LifecycleRegistry;
+import androidx.lifecycle.LiveData;
+import androidx.paging.AsyncPagingDataDiffer;
+import androidx.paging.PagingData;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListUpdateCallback;
+import androidx.room.Room;
+import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.taskflow.data.dao.TaskListQuery;
+import com.example.taskflow.data.database.TaskDatabase;
+import com.example.taskflow.data.entity.Task;
+import com.example.taskflow.data.entity.TaskPriority;
+import com.example.taskflow.data.model.TaskDetailsUpdate;
+import com.example.taskflow.data.model.TaskFilter;
+import com.example.taskflow.data.model.TaskListItem;
+import com.example.taskflow.data.model.TaskSort;
+import com.example.taskflow.metrics.MeteredOpenHelperFactory;
+import com.example.taskflow.metrics.TaskMetrics;
+import com.example.taskflow.repository.TaskRepository;
+import com.example.taskflow.repository.TaskWriteQueue;
+import com.example.taskflow.util.AppExecutors;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.reactivex.rxjava3.disposables.CompositeDisposable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Carga concorrente no {@link TaskRepository}, lido como as telas leem: a lista paginada e uma
+ * busca observadas na main thread, o stream de estatísticas com vários inscritos e leituras por
+ * id (tela de edição) em threads de background. Enquanto isso, escritores alternam status e
+ * editam tarefas pela fila de escrita, sobre um banco em memória preenchido pelo
+ * {@link TaskDataGenerator}.
+ *
+ * Reporta throughput, p50/p99 das leituras por id, a latência das escritas (do enfileiramento
+ * até a gravação) e quantas vezes cada consulta observada foi de fato re-executada, contadas
+ * pelo {@link TaskMetrics}. Parâmetros via -P: taskflow.stress.rows, .durationMs, .readers,
+ * .writers, .writeBurst, .seed.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class TaskRepositoryStressBenchmark {
+
+    private static final int ROWS = Integer.getInteger("taskflow.stress.rows", 100_000);
+    private static final long DURATION_MS = Long.getLong("taskflow.stress.durationMs", 10_000);
+    private static final int READERS = Integer.getInteger("taskflow.stress.readers", 4);
+    private static final int WRITERS = Integer.getInteger("taskflow.stress.writers", 2);
+    // Escritas seguidas antes de esperar a fila esvaziar; limita a fila sem ritmo fixo
+    private static final int WRITE_BURST = Integer.getInteger("taskflow.stress.writeBurst", 200);
+    private static final long SEED = Long.getLong("taskflow.stress.seed", 42);
+
+    private static final int INSERT_BATCH_SIZE = 500;
+    private static final String SEARCH_TERM = "relat";
+
+    private TaskMetrics metrics;
+    private TaskDatabase database;
+    private AppExecutors executors;
+    private TaskRepository repository;
+
+    @Before
+    public void setUp() {
+        Assume.assumeTrue(BenchmarkReport.isEnabled());
+        Context context = ApplicationProvider.getApplicationContext();
+        metrics = TaskMetrics.getInstance();
+        metrics.setEnabled(false);
+        metrics.reset();
+        // Com o callback do log de mudanças, as escritas pagam o custo real dos triggers
+        database = Room.inMemoryDatabaseBuilder(context, TaskDatabase.class)
+                .addCallback(TaskDatabase.CHANGE_LOG_CALLBACK)
+                .openHelperFactory(new MeteredOpenHelperFactory(
+                        new FrameworkSQLiteOpenHelperFactory(), metrics))
+                .allowMainThreadQueries()
+                .build();
+        executors = new AppExecutors();
+        repository = new TaskRepository(database, executors);
+    }
+
+    @After
+    public void tearDown() {
+        if (metrics != null) {
+            metrics.setEnabled(false);
+            metrics.reset();
+        }
+        if (repository != null) {
+            repository.close();
+        }
+        if (database != null) {
+            database.close();
+        }
+        if (executors != null) {
+            executors.shutdown();
+        }
+    }
+
+    @Test
+    public void concurrentReadersAndWriters() throws Exception {
+        BenchmarkReport report = new BenchmarkReport("task_repository_stress_" + ROWS);
+
+        long populateNs = new TaskDataGenerator(new TaskDataGenerator.Config().seed(SEED))
+                .populate(database, ROWS, INSERT_BATCH_SIZE);
+        report.record("populate", ROWS, new long[]{populateNs / ROWS});
+        assertEquals(ROWS, database.taskDao().countTasks());
+        metrics.observeInvalidations(database);
+        metrics.setEnabled(true);
+
+        // Observadores como os das telas; cada nova consulta chega como um PagingData novo
+        ResumedOwner owner = new ResumedOwner();
+        AtomicLong listGenerations = new AtomicLong();
+        AtomicLong searchGenerations = new AtomicLong();
+        observePaged(repository.getPagedTasks(TaskFilter.ALL, TaskSort.NEWEST), owner,
+                listGenerations);
+        observePaged(repository.searchTasks(SEARCH_TERM), owner, searchGenerations);
+        AtomicLong statsEmissions = new AtomicLong();
+        CompositeDisposable statsSubscribers = new CompositeDisposable();
+        for (int i = 0; i < READERS; i++) {
+            statsSubscribers.add(repository.observeTaskStats()
+                    .subscribe(stats -> statsEmissions.incrementAndGet()));
+        }
+        idleMainLooper();
+
+        // Latência de escrita: do primeiro enfileiramento pendente do id até a gravação
+        Map<Long, Long> pendingSince = new ConcurrentHashMap<>();
+        LatencyRecorder writeLatency = new LatencyRecorder();
+        TaskWriteQueue.StatusWriteListener writeListener = (taskIds, success) -> {
+            long now = System.nanoTime();
+            for (Long id : taskIds) {
+                Long since = pendingSince.remove(id);
+                if (since != null && success) {
+                    writeLatency.add(now - since);
+                }
+            }
+        };
+        repository.addStatusWriteListener(writeListener);
+        long startQueries = observedQueries();
+        long startInvalidations = metrics.getInvalidationCount();
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DURATION_MS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        List<LatencyRecorder> readLatencies = new ArrayList<>();
+        AtomicLong detailWrites = new AtomicLong();
+        for (int i = 0; i < READERS; i++) {
+            LatencyRecorder latency = new LatencyRecorder();
+            readLatencies.add(latency);
+            long readerSeed = SEED + 100 + i;
+            threads.add(new Thread(() -> read(latency, start, deadline, readerSeed),
+                    "stress-reader-" + i));
+        }
+        for (int i = 0; i < WRITERS; i++) {
+            long writerSeed = SEED + 200 + i;
+            threads.add(new Thread(() -> write(pendingSince, detailWrites, start, deadline, writerSeed),
+                    "stress-writer-" + i));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        long startedAt = System.nanoTime();
+        start.countDown();
+        // A main thread entrega as páginas aos observadores enquanto a carga roda
+        while (System.nanoTime() < deadline) {
+            idleMainLooper();
+            Thread.sleep(2);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        repository.flushWrites();
+        assertTrue("Escritas não aplicadas", repository.awaitWrites(30, TimeUnit.SECONDS));
+        idleMainLooper();
+        double elapsedSeconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+        repository.removeStatusWriteListener(writeListener);
+        statsSubscribers.dispose();
+        owner.destroy();
+
+        LatencyRecorder reads = new LatencyRecorder();
+        for (LatencyRecorder latency : readLatencies) {
+            reads.addAll(latency);
+        }
+        long listQueries = countQueries(listCountSql());
+        long searchQueries = countQueries("tasks_fts MATCH");
+        long statsQueries = countQueries("AS pendingCount");
+        report.record("read findTask", 1, reads.toArray());
+        report.record("write status (enqueue to applied)", 1, writeLatency.toArray());
+        report.recordValue("read throughput", "reads/s", reads.size() / elapsedSeconds);
+        report.recordValue("status write throughput", "writes/s", writeLatency.size() / elapsedSeconds);
+        report.recordValue("detail writes", "writes", detailWrites.get());
+        report.recordValue("tasks invalidations", "invalidations",
+                metrics.getInvalidationCount() - startInvalidations);
+        report.recordValue("requeries: paged list", "queries", listQueries);
+        report.recordValue("requeries: search", "queries", searchQueries);
+        report.recordValue("requeries: stats (shared by " + READERS + ")", "queries", statsQueries);
+        report.recordValue("requeries: total observed", "queries",
+                observedQueries() - startQueries);
+        report.recordValue("paged list generations", "pagingData", listGenerations.get());
+        report.recordValue("stats emissions (all subscribers)", "emissions", statsEmissions.get());
+        report.write();
+
+        assertTrue("Nenhuma leitura concluída", reads.size() > 0);
+        assertTrue("Nenhuma re-consulta observada", WRITERS == 0 || listQueries > 1);
+    }
+
+    // Leituras por id como as da tela de edição: cache do repositório ou banco
+    private void read(LatencyRecorder latency, CountDownLatch start, long deadline, long seed) {
+        Random random = new Random(seed);
+        awaitStart(start);
+        while (System.nanoTime() < deadline) {
+            long id = 1 + random.nextInt(ROWS);
+            long begin = System.nanoTime();
+            repository.findTask(id);
+            latency.add(System.nanoTime() - begin);
+        }
+    }
+
+    // Nove em cada dez escritas são toggles de status; as demais editam título e prioridade.
+    // Sem pausa entre elas: a cada rajada o escritor só espera a fila ser aplicada
+    private void write(Map<Long, Long> pendingSince, AtomicLong detailWrites,
+                       CountDownLatch start, long deadline, long seed) {
+        Random random = new Random(seed);
+        awaitStart(start);
+        int inBurst = 0;
+        while (System.nanoTime() < deadline) {
+            long id = 1 + random.nextInt(ROWS);
+            if (random.nextInt(10) < 9) {
+                pendingSince.putIfAbsent(id, System.nanoTime());
+                repository.setCompleted(id, random.nextBoolean());
+            } else {
+                TaskPriority priority = TaskPriority.values()[random.nextInt(3)];
+                repository.updateDetails(new TaskDetailsUpdate(id, "Editada " + id, null,
+                        priority, Task.NO_TIMESTAMP));
+                detailWrites.incrementAndGet();
+            }
+            if (++inBurst >= WRITE_BURST) {
+                inBurst = 0;
+                try {
+                    repository.awaitWrites(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void observePaged(LiveData<PagingData<TaskListItem>> stream,
+                                     ResumedOwner owner, AtomicLong generations) {
+        AsyncPagingDataDiffer<TaskListItem> differ =
+                new AsyncPagingDataDiffer<>(ITEM_CALLBACK, NO_UPDATES);
+        stream.observe(owner, pagingData -> {
+            generations.incrementAndGet();
+            differ.submitData(owner.getLifecycle(), pagingData);
+        });
+    }
+
+    // Cada PagingSource novo (uma re-consulta) começa pela contagem de linhas
+    private static String listCountSql() {
+        return "COUNT(*) FROM ( "
+                + TaskListQuery.build(TaskFilter.ALL, TaskSort.NEWEST).getSql();
+    }
+
+    private long observedQueries() {
+        return countQueries(listCountSql()) + countQueries("tasks_fts MATCH")
+                + countQueries("AS pendingCount");
+    }
+
+    // Execuções somadas de todos os SQL que contêm o trecho
+    private long countQueries(String sqlFragment) {
+        long count = 0;
+        for (TaskMetrics.QueryStats stats : metrics.getQueryStats()) {
+            if (stats.getSql().contains(sqlFragment)) {
+                count += stats.getHistogram().getCount();
+            }
+        }
+        return count;
+    }
+
+    private static void idleMainLooper() {
+        shadowOf(Looper.getMainLooper()).idle();
+    }
+
+    private static void awaitStart(CountDownLatch start) {
+        try {
+            start.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Latências de uma thread (ou agregadas), em ns
+    private static final class LatencyRecorder {
+
+        private long[] values = new long[1024];
+        private int size;
+
+        synchronized void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized void addAll(LatencyRecorder other) {
+            long[] samples;
+            int count;
+            synchronized (other) {
+                samples = other.values;
+                count = other.size;
+            }
+            for (int i = 0; i < count; i++) {
+                add(samples[i]);
+            }
+        }
+
+        // BenchmarkReport.record exige ao menos uma amostra
+        synchronized long[] toArray() {
+            if (size == 0) {
+                return new long[]{0};
+            }
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static final DiffUtil.ItemCallback<TaskListItem> ITEM_CALLBACK =
+            new DiffUtil.ItemCallback<TaskListItem>() {
+                @Override
+                public boolean areItemsTheSame(@NonNull TaskListItem oldItem,
+                                               @NonNull TaskListItem newItem) {
+                    return oldItem.getId() == newItem.getId();
+                }
+
+                @Override
+                public boolean areContentsTheSame(@NonNull TaskListItem oldItem,
+                                                  @NonNull TaskListItem newItem) {
+                    return oldItem.equals(newItem);
+                }
+            };
+
+    // Sem RecyclerView: só o diff e o carregamento das páginas entram na medida
+    private static final ListUpdateCallback NO_UPDATES = new ListUpdateCallback() {
+        @Override
+        public void onInserted(int position, int count) {
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+        }
+
+        @Override
+        public void onChanged(int position, int count, Object payload) {
+        }
+    };
+
+    private static final class ResumedOwner implements LifecycleOwner {
+
+        private final LifecycleRegistry registry = new LifecycleRegistry(this);
+
+        ResumedOwner() {
+            registry.setCurrentState(Lifecycle.State.RESUMED);
+        }
+
+        void destroy() {
+            registry.setCurrentState(Lifecycle.State.DESTROYED);
+        }
+
+        @NonNull
+        @Override
+        public Lifecycle getLifecycle() {
+            return registry;
+        }
+    }
+}
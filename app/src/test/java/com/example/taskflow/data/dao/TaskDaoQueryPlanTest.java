@@ -0,0 +1,183 @@
+package com.example.taskflow.data.dao;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+import androidx.room.Room;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.sqlite.db.SupportSQLiteProgram;
+import androidx.sqlite.db.SupportSQLiteQuery;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.taskflow.data.database.TaskDatabase;
+import com.example.taskflow.data.model.TaskFilter;
+import com.example.taskflow.data.model.TaskSort;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifica com EXPLAIN QUERY PLAN que as consultas do {@link TaskDao} usam os índices
+ * de tasks em vez de varrer a tabela e ordenar numa B-tree temporária. O plano é tirado do
+ * SQL que o Room realmente executou (capturado pelo QueryCallback), com os mesmos argumentos.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class TaskDaoQueryPlanTest {
+
+    // Consulta interna do InvalidationTracker, que não vem do TaskDao
+    private static final String ROOM_TRACKER_TABLE = "room_table_modification_log";
+
+    private TaskDatabase database;
+    private TaskDao taskDao;
+    private final List<SimpleSQLiteQuery> executed =
+            Collections.synchronizedList(new ArrayList<>());
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        // Executor direto: os LiveData consultam na própria thread do teste
+        database = Room.inMemoryDatabaseBuilder(context, TaskDatabase.class)
+                .setQueryCallback((sql, args) -> {
+                    if (sql.trim().toUpperCase(Locale.ROOT).startsWith("SELECT")
+                            && !sql.contains(ROOM_TRACKER_TABLE)) {
+                        executed.add(new SimpleSQLiteQuery(sql, args.toArray()));
+                    }
+                }, Runnable::run)
+                .setQueryExecutor(Runnable::run)
+                .allowMainThreadQueries()
+                .build();
+        taskDao = database.taskDao();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void getAllTasks_walksCreatedAtIndex() {
+        String plan = planOf(() -> observeOnce(taskDao.getAllTasks()));
+        assertUsesIndex(plan, "index_tasks_createdAt");
+    }
+
+    @Test
+    public void getTasksByStatus_usesStatusIndex() {
+        String plan = planOf(() -> observeOnce(taskDao.getTasksByStatus(false)));
+        assertUsesIndex(plan, "index_tasks_isCompleted_createdAt");
+    }
+
+    @Test
+    public void loadTasksByStatus_usesStatusIndex() {
+        String plan = planOf(() -> taskDao.loadTasksByStatus(true, 20));
+        assertUsesIndex(plan, "index_tasks_isCompleted_createdAt");
+    }
+
+    @Test
+    public void getTasksByPriority_usesPriorityRankIndex() {
+        String plan = planOf(() -> observeOnce(taskDao.getTasksByPriority(3)));
+        assertUsesIndex(plan, "index_tasks_priorityRank_createdAt");
+    }
+
+    @Test
+    public void loadFirstPage_walksCreatedAtIndex() {
+        String plan = planOf(() -> taskDao.loadFirstPage(20));
+        assertUsesIndex(plan, "index_tasks_createdAt");
+    }
+
+    // Qualquer índice iniciado por isCompleted atende a contagem
+    @Test
+    public void getPendingTasksCount_usesStatusIndex() {
+        String plan = planOf(() -> observeOnce(taskDao.getPendingTasksCount()));
+        assertUsesIndex(plan, "index_tasks_isCompleted_");
+    }
+
+    @Test
+    public void getCompletedTasksCount_usesStatusIndex() {
+        String plan = planOf(() -> observeOnce(taskDao.getCompletedTasksCount()));
+        assertUsesIndex(plan, "index_tasks_isCompleted_");
+    }
+
+    @Test
+    public void loadNextReminders_usesDueIndex() {
+        String plan = planOf(() -> taskDao.loadNextReminders(1_000L, 10));
+        assertUsesIndex(plan, "index_tasks_isCompleted_dueAt");
+    }
+
+    // Toda combinação de filtro e ordenação da lista percorre um índice, sem ordenar à parte
+    @Test
+    public void everyListSort_walksAnIndex() {
+        TaskFilter[] filters = {TaskFilter.ALL, TaskFilter.PENDING, TaskFilter.COMPLETED,
+                TaskFilter.HIGH_PRIORITY};
+        for (TaskFilter filter : filters) {
+            for (TaskSort sort : TaskSort.values()) {
+                String plan = queryPlan(TaskListQuery.build(filter, sort));
+                assertUsesIndex(plan, "index_tasks_");
+            }
+        }
+    }
+
+    @Test
+    public void prioritySort_usesRankIndex() {
+        String plan = queryPlan(TaskListQuery.build(TaskFilter.PENDING, TaskSort.PRIORITY));
+        assertUsesIndex(plan, "index_tasks_isCompleted_priorityRank_createdAt");
+    }
+
+    // Plano da primeira consulta que a chamada ao DAO executou
+    private String planOf(Runnable daoCall) {
+        executed.clear();
+        daoCall.run();
+        assertFalse("Nenhuma consulta executada", executed.isEmpty());
+        return queryPlan(executed.get(0));
+    }
+
+    private static <T> void observeOnce(LiveData<T> liveData) {
+        Observer<T> observer = value -> { };
+        liveData.observeForever(observer);
+        liveData.removeObserver(observer);
+    }
+
+    private String queryPlan(SupportSQLiteQuery query) {
+        SupportSQLiteQuery explain = new SupportSQLiteQuery() {
+            @Override
+            public String getSql() {
+                return "EXPLAIN QUERY PLAN " + query.getSql();
+            }
+
+            @Override
+            public void bindTo(SupportSQLiteProgram statement) {
+                query.bindTo(statement);
+            }
+
+            @Override
+            public int getArgCount() {
+                return query.getArgCount();
+            }
+        };
+        StringBuilder plan = new StringBuilder();
+        try (Cursor cursor = database.getOpenHelper().getReadableDatabase().query(explain)) {
+            int detail = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                plan.append(cursor.getString(detail)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    private static void assertUsesIndex(String plan, String indexName) {
+        assertTrue("Índice " + indexName + " não usado:\n" + plan, plan.contains(indexName));
+        assertFalse("Ordenação em B-tree temporária:\n" + plan, plan.contains("TEMP B-TREE"));
+    }
+}
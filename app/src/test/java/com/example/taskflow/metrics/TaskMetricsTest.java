@@ -0,0 +1,110 @@
+package com.example.taskflow.metrics;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.taskflow.data.database.TaskDatabase;
+import com.example.taskflow.data.entity.Task;
+import com.example.taskflow.data.entity.TaskPriority;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class TaskMetricsTest {
+
+    private TaskMetrics metrics;
+    private TaskDatabase database;
+
+    @Before
+    public void setUp() {
+        metrics = new TaskMetrics();
+        metrics.setEnabled(true);
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, TaskDatabase.class)
+                .openHelperFactory(new MeteredOpenHelperFactory(
+                        new FrameworkSQLiteOpenHelperFactory(), metrics))
+                .allowMainThreadQueries()
+                .build();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void query_recordsLatencyAndRowCount() {
+        insertTasks(30);
+        metrics.reset();
+
+        database.taskDao().loadFirstPage(20);
+
+        TaskMetrics.QueryStats stats = metrics.getQueryStats("ORDER BY createdAt DESC LIMIT");
+        assertNotNull(metrics.dump(), stats);
+        assertEquals(1, stats.getHistogram().getCount());
+        assertEquals(20, stats.getTotalRows());
+    }
+
+    @Test
+    public void inLists_ofDifferentSizes_shareOneEntry() {
+        insertTasks(5);
+        metrics.reset();
+
+        database.taskDao().deleteByIds(Arrays.asList(1L, 2L));
+        database.taskDao().deleteByIds(Arrays.asList(3L, 4L, 5L));
+
+        TaskMetrics.QueryStats stats = metrics.getQueryStats("DELETE FROM tasks WHERE id IN");
+        assertNotNull(metrics.dump(), stats);
+        assertEquals(2, stats.getHistogram().getCount());
+    }
+
+    @Test
+    public void slowQuery_logsQueryPlanOnce() {
+        insertTasks(10);
+        metrics.setSlowQueryThresholdMs(0);
+
+        database.taskDao().loadTasksByStatus(false, 5);
+        database.taskDao().loadTasksByStatus(false, 5);
+
+        String plan = metrics.getQueryPlan("WHERE isCompleted = ?");
+        assertNotNull(metrics.dump(), plan);
+        assertTrue(plan, plan.contains("index_tasks_isCompleted_"));
+    }
+
+    @Test
+    public void disabled_recordsNothing() {
+        metrics.setEnabled(false);
+
+        insertTasks(3);
+        database.taskDao().loadFirstPage(10);
+
+        assertTrue(metrics.getQueryStats().isEmpty());
+        assertNull(metrics.getQueryStats("tasks"));
+    }
+
+    private void insertTasks(int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Task task = new Task("Tarefa " + i, null, TaskPriority.MEDIUM);
+            task.setCreatedAt(1_000L + i);
+            tasks.add(task);
+        }
+        database.taskDao().insertAll(tasks);
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.taskflow.reminder;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.work.Configuration;
+import androidx.work.WorkInfo;
+import androidx.work.WorkManager;
+import androidx.work.testing.SynchronousExecutor;
+import androidx.work.testing.WorkManagerTestInitHelper;
+
+import com.example.taskflow.data.database.TaskDatabase;
+import com.example.taskflow.data.entity.Task;
+import com.example.taskflow.data.entity.TaskPriority;
+import com.example.taskflow.util.AppClock;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class ReminderSchedulerTest {
+
+    private static final long NOW = 1_710_084_600_000L;
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+    // Mais tarefas com prazo do que MAX_ARMED
+    private static final int DUE_TASKS = ReminderScheduler.MAX_ARMED + 5;
+
+    private Context context;
+    private TaskDatabase database;
+    private ScheduledExecutorService executor;
+    private ReminderScheduler scheduler;
+    private WorkManager workManager;
+    private final List<Long> ids = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        AppClock.set(() -> NOW);
+        WorkManagerTestInitHelper.initializeTestWorkManager(context, new Configuration.Builder()
+                .setExecutor(new SynchronousExecutor())
+                .build());
+        workManager = WorkManager.getInstance(context);
+        database = Room.inMemoryDatabaseBuilder(context, TaskDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        executor = Executors.newSingleThreadScheduledExecutor();
+        scheduler = new ReminderScheduler(context, database, executor);
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= DUE_TASKS; i++) {
+            Task task = new Task("Prazo " + i, null, TaskPriority.MEDIUM);
+            task.setDueAt(NOW + i * HOUR);
+            tasks.add(task);
+        }
+        Task late = new Task("Atrasada", null, TaskPriority.MEDIUM);
+        late.setDueAt(NOW - HOUR);
+        tasks.add(late);
+        tasks.add(new Task("Sem prazo", null, TaskPriority.MEDIUM));
+        ids.addAll(database.taskDao().insertAll(tasks));
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+        database.close();
+        context.getSharedPreferences("reminders", Context.MODE_PRIVATE).edit().clear().commit();
+        AppClock.reset();
+    }
+
+    @Test
+    public void rearm_armsOnlyTheNextReminders() throws Exception {
+        scheduler.rearm();
+
+        Map<String, ?> armed = armedReminders();
+        assertEquals(ReminderScheduler.MAX_ARMED, armed.size());
+        for (int i = 0; i < DUE_TASKS; i++) {
+            boolean expected = i < ReminderScheduler.MAX_ARMED;
+            assertEquals("Tarefa " + (i + 1), expected, armed.containsKey(String.valueOf(ids.get(i))));
+            assertEquals(expected, isEnqueued(ids.get(i)));
+        }
+    }
+
+    @Test
+    public void rearm_changesOnlyTheDifference() throws Exception {
+        scheduler.rearm();
+        UUID untouched = workId(ids.get(2));
+
+        // Primeira concluída, segunda com prazo novo: abre uma vaga para a 21ª
+        Task completed = database.taskDao().loadById(ids.get(0));
+        completed.markAsCompleted();
+        database.taskDao().update(completed);
+        Task moved = database.taskDao().loadById(ids.get(1));
+        moved.setDueAt(NOW + 30 * 60_000L);
+        database.taskDao().update(moved);
+        scheduler.rearm();
+
+        Map<String, ?> armed = armedReminders();
+        assertEquals(ReminderScheduler.MAX_ARMED, armed.size());
+        assertFalse(armed.containsKey(String.valueOf(ids.get(0))));
+        assertFalse(isEnqueued(ids.get(0)));
+        assertEquals(NOW + 30 * 60_000L, armed.get(String.valueOf(ids.get(1))));
+        assertTrue(armed.containsKey(String.valueOf(ids.get(ReminderScheduler.MAX_ARMED))));
+        // Lembrete sem mudança não é enfileirado de novo
+        assertEquals(untouched, workId(ids.get(2)));
+    }
+
+    private Map<String, ?> armedReminders() {
+        return context.getSharedPreferences("reminders", Context.MODE_PRIVATE).getAll();
+    }
+
+    private boolean isEnqueued(long taskId) throws Exception {
+        for (WorkInfo info : workManager.getWorkInfosForUniqueWork("reminder-" + taskId).get()) {
+            if (info.getState() == WorkInfo.State.ENQUEUED) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private UUID workId(long taskId) throws Exception {
+        for (WorkInfo info : workManager.getWorkInfosForUniqueWork("reminder-" + taskId).get()) {
+            if (info.getState() == WorkInfo.State.ENQUEUED) {
+                return info.getId();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.taskflow.reminder;
+
+import android.app.NotificationManager;
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.work.Configuration;
+import androidx.work.Data;
+import androidx.work.ListenableWorker;
+import androidx.work.testing.SynchronousExecutor;
+import androidx.work.testing.TestWorkerBuilder;
+import androidx.work.testing.WorkManagerTestInitHelper;
+
+import com.example.taskflow.ServiceLocator;
+import com.example.taskflow.data.database.TaskDatabase;
+import com.example.taskflow.data.entity.Task;
+import com.example.taskflow.data.entity.TaskPriority;
+import com.example.taskflow.util.AppExecutors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.robolectric.Shadows.shadowOf;
+
+@RunWith(RobolectricTestRunner.class)
+public class ReminderWorkerTest {
+
+    private static final long DUE_AT = 1_710_084_600_000L;
+
+    private Context context;
+    private TaskDatabase database;
+    private NotificationManager notifications;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        WorkManagerTestInitHelper.initializeTestWorkManager(context, new Configuration.Builder()
+                .setExecutor(new SynchronousExecutor())
+                .build());
+        database = Room.inMemoryDatabaseBuilder(context, TaskDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        ServiceLocator.provideForTests(database, new AppExecutors());
+        notifications = context.getSystemService(NotificationManager.class);
+    }
+
+    @After
+    public void tearDown() {
+        ServiceLocator.reset();
+    }
+
+    @Test
+    public void pendingTaskWithSameDueDate_isNotified() {
+        long id = insertTask(false, DUE_AT);
+
+        assertEquals(ListenableWorker.Result.success(), run(id, DUE_AT));
+
+        assertEquals(1, shadowOf(notifications).getAllNotifications().size());
+    }
+
+    // Prazo alterado depois do agendamento: o trabalho novo avisa no horário certo
+    @Test
+    public void changedDueDate_isNotNotified() {
+        long id = insertTask(false, DUE_AT + 60_000L);
+
+        assertEquals(ListenableWorker.Result.success(), run(id, DUE_AT));
+
+        assertEquals(0, shadowOf(notifications).getAllNotifications().size());
+    }
+
+    @Test
+    public void completedOrDeletedTask_isNotNotified() {
+        long id = insertTask(true, DUE_AT);
+
+        assertEquals(ListenableWorker.Result.success(), run(id, DUE_AT));
+        assertEquals(ListenableWorker.Result.success(), run(id + 100, DUE_AT));
+
+        assertEquals(0, shadowOf(notifications).getAllNotifications().size());
+    }
+
+    private long insertTask(boolean completed, long dueAt) {
+        Task task = new Task("Pagar conta", null, TaskPriority.HIGH);
+        task.setDueAt(dueAt);
+        if (completed) {
+            task.markAsCompleted();
+        }
+        return database.taskDao().insert(task);
+    }
+
+    private ListenableWorker.Result run(long taskId, long dueAt) {
+        Data input = new Data.Builder()
+                .putLong(ReminderScheduler.KEY_TASK_ID, taskId)
+                .putLong(ReminderScheduler.KEY_DUE_AT, dueAt)
+                .build();
+        Executor direct = Runnable::run;
+        ReminderWorker worker = TestWorkerBuilder.from(context, ReminderWorker.class, direct)
+                .setInputData(input)
+                .build();
+        return worker.doWork();
+    }
+}
@@ -0,0 +1,366 @@
+package com.example.taskflow.repository;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.room.InvalidationTracker;
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.taskflow.ServiceLocator;
+import com.example.taskflow.data.database.TaskDatabase;
+import com.example.taskflow.data.entity.Task;
+import com.example.taskflow.data.entity.TaskPriority;
+import com.example.taskflow.data.model.TaskDetailsUpdate;
+import com.example.taskflow.data.model.TaskStats;
+import com.example.taskflow.util.AppExecutors;
+
+import io.reactivex.rxjava3.processors.PublishProcessor;
+import io.reactivex.rxjava3.subscribers.TestSubscriber;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class TaskRepositoryTest {
+
+    private Context context;
+    private TaskDatabase database;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, TaskDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        ServiceLocator.provideForTests(database, new AppExecutors());
+    }
+
+    @After
+    public void tearDown() {
+        ServiceLocator.reset();
+    }
+
+    @Test
+    public void repositoryIsSharedAcrossCallers() {
+        assertSame(ServiceLocator.getTaskRepository(context),
+                ServiceLocator.getTaskRepository(context));
+    }
+
+    @Test
+    public void statusToggle_keepsTitleAndCreationTime() throws InterruptedException {
+        TaskRepository repository = ServiceLocator.getTaskRepository(context);
+        Task task = new Task("Relatório", "Descrição longa", TaskPriority.HIGH);
+        task.setCreatedAt(1_000L);
+        repository.insert(task);
+        assertTrue(repository.awaitWrites(5, TimeUnit.SECONDS));
+
+        long id = database.taskDao().loadTasksByStatus(false, 10).get(0).getId();
+        repository.setCompleted(id, true);
+        assertTrue(repository.awaitWrites(5, TimeUnit.SECONDS));
+
+        List<Task> completed = database.taskDao().loadTasksByStatus(true, 10);
+        assertEquals(1, completed.size());
+        assertEquals("Relatório", completed.get(0).getTitle());
+        assertEquals("Descrição longa", completed.get(0).getDescription());
+        assertEquals(1_000L, completed.get(0).getCreatedAt());
+        assertTrue(completed.get(0).hasCompletedAt());
+    }
+
+    @Test
+    public void repeatedLookups_areServedFromCache() throws InterruptedException {
+        TaskRepository repository = ServiceLocator.getTaskRepository(context);
+        long id = insertTask(repository, "Relatório");
+
+        TaskCache cache = repository.getTaskCache();
+        for (int i = 0; i < 10; i++) {
+            assertEquals("Relatório", repository.findTask(id).getTitle());
+        }
+
+        // Só a primeira leitura vai ao banco
+        assertEquals(1, cache.getMissCount());
+        assertEquals(9, cache.getHitCount());
+    }
+
+    @Test
+    public void repositoryWrites_updateCachedTask() throws InterruptedException {
+        TaskRepository repository = ServiceLocator.getTaskRepository(context);
+        long id = insertTask(repository, "Relatório");
+        repository.findTask(id);
+
+        repository.updateDetails(new TaskDetailsUpdate(id, "Editada", null, TaskPriority.LOW,
+                Task.NO_TIMESTAMP));
+        repository.setCompleted(id, true);
+
+        Task cached = repository.findTask(id);
+        assertEquals("Editada", cached.getTitle());
+        assertTrue(cached.isCompleted());
+        assertEquals(1, repository.getTaskCache().getMissCount());
+    }
+
+    @Test
+    public void writeOutsideRepository_evictsCachedTask() throws InterruptedException {
+        TaskRepository repository = ServiceLocator.getTaskRepository(context);
+        long id = insertTask(repository, "Relatório");
+        repository.findTask(id);
+
+        // Como a sincronização faria: direto no DAO, sem passar pelo repositório
+        database.taskDao().updateDetails(new TaskDetailsUpdate(id, "Remota", null,
+                TaskPriority.HIGH, Task.NO_TIMESTAMP));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (repository.getTaskCache().size() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, repository.getTaskCache().size());
+        assertEquals("Remota", repository.findTask(id).getTitle());
+    }
+
+    @Test
+    public void trimMemory_inBackground_emptiesCache() throws InterruptedException {
+        TaskRepository repository = ServiceLocator.getTaskRepository(context);
+        long id = insertTask(repository, "Relatório");
+        assertNotNull(repository.findTask(id));
+
+        repository.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_BACKGROUND);
+
+        assertEquals(0, repository.getTaskCache().size());
+    }
+
+    /**
+     * Insere e espera a invalidação da inserção chegar aos observadores, para ela não descartar
+     * a primeira leitura do teste. updatedAt fixo e antigo: a escrita seguinte nunca cai no
+     * mesmo milissegundo.
+     */
+    @Test
+    public void updateDetails_writesOnlyChangedColumns() throws InterruptedException {
+        TaskRepository repository = ServiceLocator.getTaskRepository(context);
+        long id = insertTask(repository, "Relatório");
+        Task original = database.taskDao().loadById(id);
+        // Mudança de outro aparelho enquanto a tela de edição estava aberta
+        database.taskDao().updatePriority(Collections.singletonList(id),
+                TaskPriority.HIGH, TaskPriority.HIGH.getRank(), 2_000L);
+
+        TaskDetailsUpdate update = new TaskDetailsUpdate(original, "Relatório final",
+                original.getDescription(), original.getPriority(), original.getDueAt());
+        assertTrue(update.hasChanges());
+        repository.updateDetails(update);
+        assertTrue(repository.awaitWrites(5, TimeUnit.SECONDS));
+
+        Task written = database.taskDao().loadById(id);
+        assertEquals("Relatório final", written.getTitle());
+        assertEquals(TaskPriority.HIGH, written.getPriority());
+    }
+
+    @Test
+    public void update_leavesCallersTaskUntouched() throws InterruptedException {
+        TaskRepository repository = ServiceLocator.getTaskRepository(context);
+        long id = insertTask(repository, "Relatório");
+        Task task = database.taskDao().loadById(id);
+        long updatedAt = task.getUpdatedAt();
+
+        task.setTitle("Editada");
+        repository.update(task);
+        // Mudança feita depois de enfileirar não entra na escrita
+        task.setTitle("Depois");
+        assertTrue(repository.awaitWrites(5, TimeUnit.SECONDS));
+
+        assertEquals(updatedAt, task.getUpdatedAt());
+        assertEquals("Editada", database.taskDao().loadById(id).getTitle());
+    }
+
+    @Test
+    public void failedWrite_evictsCachedTask() throws InterruptedException {
+        TaskRepository repository = ServiceLocator.getTaskRepository(context);
+        long id = insertTask(repository, "Relatório");
+        repository.findTask(id);
+        database.getOpenHelper().getWritableDatabase().execSQL(
+                "CREATE TRIGGER reject_update BEFORE UPDATE ON tasks "
+                        + "BEGIN SELECT RAISE(ABORT, 'rejeitado'); END");
+
+        repository.updateDetails(new TaskDetailsUpdate(id, "Editada", null, TaskPriority.LOW,
+                Task.NO_TIMESTAMP));
+        assertEquals("Editada", repository.findTask(id).getTitle());
+
+        // A edição não chegou ao banco; o cache não pode continuar com ela
+        assertFalse(repository.awaitWrites(5, TimeUnit.SECONDS));
+        assertEquals(0, repository.getTaskCache().size());
+        assertEquals("Relatório", repository.findTask(id).getTitle());
+    }
+
+    @Test
+    public void importBackup_reportsRuntimeFailure() throws InterruptedException {
+        TaskRepository repository = ServiceLocator.getTaskRepository(context);
+        IllegalStateException failure = new IllegalStateException("arquivo removido");
+        ReadableByteChannel channel = new ReadableByteChannel() {
+            @Override
+            public int read(ByteBuffer dst) {
+                throw failure;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        AtomicReference<Exception> reported = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+
+        repository.importBackup(channel, new TaskRepository.BackupCallback() {
+            @Override
+            public void onProgress(long count, long total) {
+            }
+
+            @Override
+            public void onFinished(long count) {
+                done.countDown();
+            }
+
+            @Override
+            public void onFailed(Exception error) {
+                reported.set(error);
+                done.countDown();
+            }
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertSame(failure, reported.get());
+        assertTrue(repository.awaitWrites(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void preparedStream_burstKeepsLatestValue() {
+        PublishProcessor<Integer> source = PublishProcessor.create();
+        // Assinante parado: sem onBackpressureLatest a rajada falharia com MissingBackpressure
+        TestSubscriber<Integer> subscriber = TaskRepository.prepareStream(source).test(0);
+
+        for (int i = 0; i < 1_000; i++) {
+            source.onNext(i);
+        }
+        subscriber.request(Long.MAX_VALUE);
+        subscriber.awaitCount(1);
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!Integer.valueOf(999).equals(lastValue(subscriber))
+                && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+
+        subscriber.assertNoErrors();
+        assertEquals(999, (int) lastValue(subscriber));
+        assertTrue(subscriber.values().size() < 1_000);
+    }
+
+    @Test
+    public void preparedStream_dropsRepeatedValues() {
+        PublishProcessor<Integer> source = PublishProcessor.create();
+        TestSubscriber<Integer> subscriber = TaskRepository.prepareStream(source).test();
+
+        source.onNext(1);
+        source.onNext(1);
+        source.onNext(2);
+        source.onNext(2);
+        source.onNext(1);
+
+        subscriber.awaitCount(3);
+        subscriber.assertValues(1, 2, 1);
+    }
+
+    @Test
+    public void taskStats_sharesOneQueryAndReplaysLastValue() throws InterruptedException {
+        TaskRepository repository = ServiceLocator.getTaskRepository(context);
+        insertTask(repository, "Relatório");
+
+        TestSubscriber<TaskStats> first = repository.observeTaskStats().test();
+        first.awaitCount(1);
+        assertEquals(1, first.values().get(0).getPendingCount());
+
+        // Quem chega depois recebe o último valor sem nova consulta
+        TestSubscriber<TaskStats> second = repository.observeTaskStats().test();
+        second.awaitCount(1);
+        assertSame(first.values().get(0), second.values().get(0));
+
+        // Sem inscritos a consulta é encerrada; a próxima inscrição consulta de novo
+        first.cancel();
+        second.cancel();
+        TestSubscriber<TaskStats> third = repository.observeTaskStats().test();
+        third.awaitCount(1);
+        assertNotSame(first.values().get(0), third.values().get(0));
+        assertEquals(first.values().get(0), third.values().get(0));
+        third.cancel();
+    }
+
+    @Test
+    public void taskStats_countsOverduePendingTasks() throws InterruptedException {
+        TaskRepository repository = ServiceLocator.getTaskRepository(context);
+        long now = System.currentTimeMillis();
+        insertWithDueAt(repository, "Atrasada", now - 60_000L, false);
+        insertWithDueAt(repository, "Concluída atrasada", now - 60_000L, true);
+        insertWithDueAt(repository, "No prazo", now + 3_600_000L, false);
+        insertWithDueAt(repository, "Sem prazo", Task.NO_TIMESTAMP, false);
+
+        TestSubscriber<TaskStats> subscriber = repository.observeTaskStats().test();
+        subscriber.awaitCount(1);
+        TaskStats stats = subscriber.values().get(0);
+        assertEquals(1, stats.getOverdueCount());
+        assertEquals(3, stats.getPendingCount());
+        assertEquals(4, stats.getHighPriorityCount());
+        subscriber.cancel();
+    }
+
+    private static void insertWithDueAt(TaskRepository repository, String title, long dueAt,
+                                        boolean completed) throws InterruptedException {
+        Task task = new Task(title, null, TaskPriority.HIGH);
+        task.setDueAt(dueAt);
+        task.setCompleted(completed);
+        repository.insert(task);
+        assertTrue(repository.awaitWrites(5, TimeUnit.SECONDS));
+    }
+
+    private static <T> T lastValue(TestSubscriber<T> subscriber) {
+        List<T> values = subscriber.values();
+        return values.isEmpty() ? null : values.get(values.size() - 1);
+    }
+
+    private long insertTask(TaskRepository repository, String title) throws InterruptedException {
+        CountDownLatch invalidated = new CountDownLatch(1);
+        InvalidationTracker.Observer observer = new InvalidationTracker.Observer("tasks") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                invalidated.countDown();
+            }
+        };
+        database.getInvalidationTracker().addObserver(observer);
+
+        Task task = new Task(title, "Descrição", TaskPriority.MEDIUM);
+        task.setUpdatedAt(1_000L);
+        repository.insert(task);
+        assertTrue(repository.awaitWrites(5, TimeUnit.SECONDS));
+        assertTrue(invalidated.await(5, TimeUnit.SECONDS));
+        database.getInvalidationTracker().removeObserver(observer);
+        return database.taskDao().loadTasksByStatus(false, 10).get(0).getId();
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.taskflow.repository;
+
+import com.example.taskflow.data.entity.Task;
+import com.example.taskflow.data.entity.TaskPriority;
+import com.example.taskflow.data.model.TaskStatusUpdate;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class TaskWriteQueueTest {
+
+    private ScheduledExecutorService executor;
+    private final List<List<Task>> updateBatches = Collections.synchronizedList(new ArrayList<>());
+    private final List<List<TaskStatusUpdate>> statusBatches =
+            Collections.synchronizedList(new ArrayList<>());
+    private final List<List<Long>> deleteBatches = Collections.synchronizedList(new ArrayList<>());
+    private TaskWriteQueue queue;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        queue = new TaskWriteQueue((inserts, updates, statusUpdates, deleteIds) -> {
+            updateBatches.add(updates);
+            statusBatches.add(statusUpdates);
+            deleteBatches.add(deleteIds);
+        }, executor);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void rapidToggles_areCoalescedIntoFewTransactions() throws InterruptedException {
+        Map<Long, Boolean> expected = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            long id = i % 10;
+            Task task = newTask(id);
+            task.setCompleted(i % 3 == 0);
+            queue.update(task);
+            expected.put(id, task.isCompleted());
+        }
+
+        assertTrue(queue.awaitIdle(5, TimeUnit.SECONDS));
+
+        assertTrue("Transações: " + queue.getTransactionCount(), queue.getTransactionCount() <= 3);
+        Map<Long, Boolean> written = new HashMap<>();
+        for (List<Task> batch : updateBatches) {
+            Set<Long> idsInBatch = new HashSet<>();
+            for (Task task : batch) {
+                assertTrue("Update duplicado no lote", idsInBatch.add(task.getId()));
+                written.put(task.getId(), task.isCompleted());
+            }
+        }
+        assertEquals(expected, written);
+    }
+
+    @Test
+    public void delete_dropsPendingUpdateForSameTask() throws InterruptedException {
+        queue.update(newTask(1));
+        queue.delete(1);
+
+        assertTrue(queue.awaitIdle(5, TimeUnit.SECONDS));
+
+        assertEquals(1, queue.getTransactionCount());
+        assertTrue(updateBatches.get(0).isEmpty());
+        assertEquals(1, deleteBatches.get(0).size());
+    }
+
+    @Test
+    public void statusToggle_isFoldedIntoPendingFullUpdate() throws InterruptedException {
+        queue.update(newTask(1));
+        queue.updateStatus(new TaskStatusUpdate(1, true, 1234L));
+
+        assertTrue(queue.awaitIdle(5, TimeUnit.SECONDS));
+
+        assertTrue(statusBatches.get(0).isEmpty());
+        Task written = updateBatches.get(0).get(0);
+        assertTrue(written.isCompleted());
+        assertEquals(1234L, written.getCompletedAt());
+    }
+
+    @Test
+    public void failedBatch_isReportedAndNotCountedAsApplied() throws InterruptedException {
+        TaskWriteQueue failing = new TaskWriteQueue((inserts, updates, statusUpdates, deleteIds) -> {
+            throw new IllegalStateException("disco cheio");
+        }, executor);
+        List<Long> failedIds = Collections.synchronizedList(new ArrayList<>());
+        failing.setWriteFailureListener((taskIds, error) -> failedIds.addAll(taskIds));
+
+        failing.update(newTask(1));
+        failing.updateStatus(new TaskStatusUpdate(2, true, 1234L));
+        failing.delete(3);
+
+        assertFalse(failing.awaitIdle(5, TimeUnit.SECONDS));
+        assertEquals(0, failing.getTransactionCount());
+        assertEquals(new HashSet<>(Arrays.asList(1L, 2L, 3L)), new HashSet<>(failedIds));
+
+        // A falha só afeta quem esperava por ela
+        assertTrue(failing.awaitIdle(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void failedOperation_reportsItsTaskIds() throws InterruptedException {
+        List<Long> failedIds = Collections.synchronizedList(new ArrayList<>());
+        queue.setWriteFailureListener((taskIds, error) -> failedIds.addAll(taskIds));
+
+        queue.execute(Arrays.asList(4L, 5L), () -> {
+            throw new IllegalStateException("constraint");
+        });
+        queue.update(newTask(1));
+
+        assertFalse(queue.awaitIdle(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(4L, 5L), failedIds);
+        // O lote seguinte à falha continua sendo gravado
+        assertEquals(1, queue.getTransactionCount());
+        assertEquals(1, updateBatches.size());
+    }
+
+    @Test
+    public void pendingWrites_coverQueuedSealedAndRunningUnits() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        queue.execute(Arrays.asList(4L, 5L), () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        queue.updateStatus(new TaskStatusUpdate(1, true, 1234L));
+        queue.execute(Collections.singletonList(2L), () -> { });
+
+        // Em execução, no lote fechado antes da operação e na operação ainda na fila
+        assertTrue(queue.hasPendingWrites(4));
+        assertTrue(queue.hasPendingWrites(1));
+        assertTrue(queue.hasPendingWrites(2));
+        assertFalse(queue.hasPendingWrites(3));
+
+        release.countDown();
+        assertTrue(queue.awaitIdle(5, TimeUnit.SECONDS));
+        assertFalse(queue.hasPendingWrites(4));
+        assertFalse(queue.hasPendingWrites(1));
+        assertFalse(queue.hasPendingWrites(2));
+    }
+
+    private static Task newTask(long id) {
+        Task task = new Task("Tarefa " + id, null, TaskPriority.MEDIUM);
+        task.setId(id);
+        return task;
+    }
+}
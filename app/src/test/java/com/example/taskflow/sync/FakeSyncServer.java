@@ -0,0 +1,111 @@
+package com.example.taskflow.sync;
+
+import com.example.taskflow.data.model.SyncRecord;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Servidor HTTP local com o mesmo protocolo do HttpSyncTransport, para testes ponta a ponta
+class FakeSyncServer {
+
+    private final HttpServer server;
+    private final Map<String, SyncRecord> latestByUid = new HashMap<>();
+    private final TreeMap<Long, SyncRecord> byRevision = new TreeMap<>();
+    private long revision;
+    private int pushRequests;
+
+    FakeSyncServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/changes", this::handle);
+        server.start();
+    }
+
+    String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    synchronized int getPushRequests() {
+        return pushRequests;
+    }
+
+    void stop() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String response = "";
+        if ("POST".equals(exchange.getRequestMethod())) {
+            accept(SyncJson.decodeRecords(read(exchange.getRequestBody())));
+        } else {
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            response = SyncJson.encodePage(page(Long.parseLong(query.get("since")),
+                    Integer.parseInt(query.get("limit"))));
+        }
+        byte[] body = response.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    // Last-writer-wins: só substitui o que o servidor tem se o registro for mais novo
+    private synchronized void accept(List<SyncRecord> records) {
+        pushRequests++;
+        for (SyncRecord record : records) {
+            SyncRecord current = latestByUid.get(record.getUid());
+            if (current != null && current.getUpdatedAt() >= record.getUpdatedAt()) {
+                continue;
+            }
+            if (current != null) {
+                byRevision.remove(current.getRevision());
+            }
+            SyncRecord stored = record.withRevision(++revision);
+            latestByUid.put(record.getUid(), stored);
+            byRevision.put(stored.getRevision(), stored);
+        }
+    }
+
+    private synchronized SyncPage page(long since, int limit) {
+        List<SyncRecord> records = new ArrayList<>();
+        long cursor = since;
+        for (SyncRecord record : byRevision.tailMap(since, false).values()) {
+            if (records.size() == limit) {
+                break;
+            }
+            records.add(record);
+            cursor = record.getRevision();
+        }
+        return new SyncPage(records, cursor, byRevision.higherKey(cursor) != null);
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> params = new HashMap<>();
+        for (String pair : query.split("&")) {
+            int split = pair.indexOf('=');
+            params.put(pair.substring(0, split), pair.substring(split + 1));
+        }
+        return params;
+    }
+
+    private static String read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int count;
+        while ((count = in.read(buffer)) != -1) {
+            out.write(buffer, 0, count);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.taskflow.sync;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.taskflow.data.database.TaskDatabase;
+import com.example.taskflow.data.entity.Task;
+import com.example.taskflow.data.entity.TaskChange;
+import com.example.taskflow.data.entity.TaskPriority;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+// Dois "aparelhos" (bancos em memória) sincronizando pelo mesmo servidor HTTP local
+@RunWith(RobolectricTestRunner.class)
+public class SyncEngineTest {
+
+    private FakeSyncServer server;
+    private TaskDatabase deviceA;
+    private TaskDatabase deviceB;
+    private SyncEngine syncA;
+    private SyncEngine syncB;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new FakeSyncServer();
+        deviceA = newDatabase();
+        deviceB = newDatabase();
+        syncA = newEngine(deviceA, "sync_a");
+        syncB = newEngine(deviceB, "sync_b");
+    }
+
+    @After
+    public void tearDown() {
+        deviceA.close();
+        deviceB.close();
+        server.stop();
+    }
+
+    @Test
+    public void newTask_reachesOtherDevice() throws Exception {
+        deviceA.taskDao().insert(new Task("Comprar pão", "Integral", TaskPriority.HIGH));
+
+        assertEquals(1, syncA.sync().getPushed());
+        assertEquals(1, syncB.sync().getPulled());
+
+        Task received = deviceB.taskDao().loadTasksByStatus(false, 10).get(0);
+        assertEquals("Comprar pão", received.getTitle());
+        assertEquals("Integral", received.getDescription());
+        assertEquals(TaskPriority.HIGH, received.getPriority());
+        assertEquals(onlyTask(deviceA).getUid(), received.getUid());
+    }
+
+    @Test
+    public void appliedRemoteChanges_areNotPushedBack() throws Exception {
+        deviceA.taskDao().insert(new Task("Tarefa", null, TaskPriority.LOW));
+        syncA.sync();
+        syncB.sync();
+        int requests = server.getPushRequests();
+
+        assertTrue(deviceB.syncDao().loadChanges(10).isEmpty());
+        assertEquals(0, syncB.sync().getPushed());
+        assertEquals(requests, server.getPushRequests());
+    }
+
+    @Test
+    public void concurrentEdits_lastWriterWins() throws Exception {
+        deviceA.taskDao().insert(new Task("Original", null, TaskPriority.MEDIUM));
+        syncA.sync();
+        syncB.sync();
+        long base = onlyTask(deviceA).getUpdatedAt();
+
+        // B edita depois de A, mas sincroniza antes
+        edit(deviceA, "Versão A", base + 1_000);
+        edit(deviceB, "Versão B", base + 2_000);
+        syncB.sync();
+        syncA.sync();
+        syncB.sync();
+
+        assertEquals("Versão B", onlyTask(deviceA).getTitle());
+        assertEquals("Versão B", onlyTask(deviceB).getTitle());
+    }
+
+    @Test
+    public void delete_propagatesAsTombstone() throws Exception {
+        deviceA.taskDao().insert(new Task("Temporária", null, TaskPriority.LOW));
+        syncA.sync();
+        syncB.sync();
+
+        deviceA.taskDao().deleteByIds(Collections.singletonList(onlyTask(deviceA).getId()));
+        syncA.sync();
+        syncB.sync();
+
+        assertTrue(deviceB.taskDao().loadTasksByStatus(false, 10).isEmpty());
+    }
+
+    @Test
+    public void delete_isLoggedAtGivenTime() {
+        Task task = new Task("Temporária", null, TaskPriority.LOW);
+        task.setUpdatedAt(1_000L);
+        deviceA.taskDao().insert(task);
+
+        deviceA.taskDao().deleteByIds(Collections.singletonList(onlyTask(deviceA).getId()),
+                50_000L);
+
+        TaskChange change = deviceA.syncDao().getChange(task.getUid());
+        assertTrue(change.isDeleted());
+        assertEquals(50_000L, change.getChangedAt());
+    }
+
+    @Test
+    public void manyChanges_areSentInBatches() throws Exception {
+        int count = SyncEngine.BATCH_SIZE * 2 + 5;
+        for (int i = 0; i < count; i++) {
+            deviceA.taskDao().insert(new Task("Tarefa " + i, null, TaskPriority.LOW));
+        }
+
+        assertEquals(count, syncA.sync().getPushed());
+        assertEquals(3, server.getPushRequests());
+        assertEquals(count, syncB.sync().getPulled());
+    }
+
+    private static void edit(TaskDatabase database, String title, long updatedAt) {
+        Task task = onlyTask(database);
+        task.setTitle(title);
+        task.setUpdatedAt(updatedAt);
+        database.taskDao().update(task);
+    }
+
+    private static Task onlyTask(TaskDatabase database) {
+        List<Task> tasks = database.taskDao().loadTasksByStatus(false, 10);
+        assertEquals(1, tasks.size());
+        return tasks.get(0);
+    }
+
+    private static TaskDatabase newDatabase() {
+        Context context = ApplicationProvider.getApplicationContext();
+        return Room.inMemoryDatabaseBuilder(context, TaskDatabase.class)
+                .addCallback(TaskDatabase.CHANGE_LOG_CALLBACK)
+                .allowMainThreadQueries()
+                .build();
+    }
+
+    private SyncEngine newEngine(TaskDatabase database, String stateName) {
+        Context context = ApplicationProvider.getApplicationContext();
+        return new SyncEngine(database.syncDao(), new HttpSyncTransport(server.getBaseUrl()),
+                context.getSharedPreferences(stateName, Context.MODE_PRIVATE));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.taskflow.sync;
+
+import com.example.taskflow.data.entity.Task;
+import com.example.taskflow.data.entity.TaskPriority;
+import com.example.taskflow.data.model.SyncRecord;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+// org.json vem do Android: roda no Robolectric
+@RunWith(RobolectricTestRunner.class)
+public class SyncJsonTest {
+
+    @Test
+    public void record_withoutPriority_roundTrips() throws IOException {
+        SyncRecord record = new SyncRecord("11111111-1111-4111-8111-111111111111", false,
+                2_000L, "Sem prioridade", null, null, false, 1_000L, Task.NO_TIMESTAMP,
+                Task.NO_TIMESTAMP, 0);
+
+        String json = SyncJson.encodeRecord(record);
+        assertFalse(json.contains("\"p\""));
+
+        SyncRecord decoded = SyncJson.decodeRecord(json);
+        assertNull(decoded.getPriority());
+        assertEquals("Sem prioridade", decoded.getTitle());
+        assertEquals(2_000L, decoded.getUpdatedAt());
+        // null explícito, de outro cliente, também vale como sem prioridade
+        assertNull(SyncJson.decodeRecord(json.replace("}", ",\"p\":null}")).getPriority());
+    }
+
+    @Test
+    public void record_withPriority_roundTrips() throws IOException {
+        SyncRecord record = new SyncRecord("22222222-2222-4222-8222-222222222222", false,
+                2_000L, "Alta", "Descrição", TaskPriority.HIGH, true, 1_000L, 1_500L,
+                3_000L, 0);
+
+        SyncRecord decoded = SyncJson.decodeRecord(SyncJson.encodeRecord(record));
+        assertEquals(TaskPriority.HIGH, decoded.getPriority());
+        assertEquals(1_500L, decoded.getCompletedAt());
+        assertEquals(3_000L, decoded.getDueAt());
+    }
+}
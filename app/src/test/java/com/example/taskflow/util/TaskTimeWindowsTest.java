@@ -0,0 +1,49 @@
+package com.example.taskflow.util;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class TaskTimeWindowsTest {
+
+    // 2024-03-10 12:30 em São Paulo (15:30 UTC)
+    private static final long MIDDAY = 1_710_084_600_000L;
+    // 2024-03-10 00:00 em São Paulo (03:00 UTC)
+    private static final long MIDNIGHT = 1_710_039_600_000L;
+
+    @Test
+    public void startOfDay_usesSaoPauloMidnight() {
+        assertEquals(MIDNIGHT, TaskTimeWindows.startOfDay(MIDDAY));
+        assertEquals(MIDNIGHT, TaskTimeWindows.startOfDay(MIDNIGHT));
+    }
+
+    // 23:30 em São Paulo já é o dia seguinte em UTC
+    @Test
+    public void startOfDay_lateEvening_staysOnLocalDay() {
+        long lateEvening = MIDNIGHT - TimeUnit.MINUTES.toMillis(30);
+        assertEquals(MIDNIGHT - TimeUnit.DAYS.toMillis(1),
+                TaskTimeWindows.startOfDay(lateEvening));
+    }
+
+    @Test
+    public void startOfDayAfter_countsWholeDays() {
+        assertEquals(MIDNIGHT + TimeUnit.DAYS.toMillis(1),
+                TaskTimeWindows.startOfDayAfter(MIDDAY, 1));
+        assertEquals(MIDNIGHT + TimeUnit.DAYS.toMillis(8),
+                TaskTimeWindows.startOfDayAfter(MIDDAY, 8));
+    }
+
+    // Fim do horário de verão em 17/02/2019: o dia 16 teve 25 horas
+    @Test
+    public void startOfDayAfter_followsDaylightSavingChange() {
+        long noon = 1_550_325_600_000L;
+        long start = TaskTimeWindows.startOfDay(noon);
+        long next = TaskTimeWindows.startOfDayAfter(noon, 1);
+
+        assertEquals(1_550_282_400_000L, start);
+        assertEquals(1_550_372_400_000L, next);
+        assertEquals(TimeUnit.HOURS.toMillis(25), next - start);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.taskflow.viewmodel;
+
+import android.app.Application;
+import android.os.Looper;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.taskflow.ServiceLocator;
+import com.example.taskflow.data.database.TaskDatabase;
+import com.example.taskflow.data.entity.Task;
+import com.example.taskflow.data.entity.TaskPriority;
+import com.example.taskflow.data.model.TaskListItem;
+import com.example.taskflow.data.model.TaskStatusUpdate;
+import com.example.taskflow.repository.TaskRepository;
+import com.example.taskflow.util.AppExecutors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+// Overlay otimista dos toggles da lista: aplicado na hora, reconciliado com o banco
+// depois da gravação ou revertido se ela falhar
+@RunWith(RobolectricTestRunner.class)
+public class TaskViewModelTest {
+
+    private TaskDatabase database;
+    private TaskRepository repository;
+    private TaskViewModel viewModel;
+    private long taskId;
+
+    @Before
+    public void setUp() {
+        Application application = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(application, TaskDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        ServiceLocator.provideForTests(database, new AppExecutors());
+        repository = ServiceLocator.getTaskRepository(application);
+        taskId = database.taskDao().insert(new Task("Relatório", null, TaskPriority.MEDIUM));
+        viewModel = new TaskViewModel(application);
+    }
+
+    @After
+    public void tearDown() {
+        ServiceLocator.reset();
+    }
+
+    @Test
+    public void setCompleted_appliesOverlayImmediately() {
+        viewModel.setCompleted(taskId, true);
+
+        TaskStatusUpdate pending = overlay().get(taskId);
+        assertTrue(pending != null && pending.isCompleted());
+    }
+
+    @Test
+    public void successfulWrite_keepsOverlayUntilListShowsNewStatus() throws InterruptedException {
+        viewModel.setCompleted(taskId, true);
+        assertTrue(repository.awaitWrites(5, TimeUnit.SECONDS));
+        shadowOf(Looper.getMainLooper()).idle();
+
+        // Página ainda com o valor antigo: o overlay continua valendo
+        viewModel.reconcileStatusOverlay(Collections.singletonList(item(false)));
+        assertTrue(overlay().containsKey(taskId));
+
+        viewModel.reconcileStatusOverlay(Collections.singletonList(item(true)));
+        assertTrue(overlay().isEmpty());
+        assertNull(viewModel.getWriteError().getValue());
+    }
+
+    // Confirmado no banco e fora das páginas carregadas: nada mais vai reconciliá-lo
+    @Test
+    public void confirmedStatus_notLoaded_leavesOverlay() throws InterruptedException {
+        viewModel.setCompleted(taskId, true);
+        assertTrue(repository.awaitWrites(5, TimeUnit.SECONDS));
+        shadowOf(Looper.getMainLooper()).idle();
+
+        viewModel.reconcileStatusOverlay(Collections.emptyList());
+
+        assertTrue(overlay().isEmpty());
+    }
+
+    @Test
+    public void failedWrite_revertsOverlayAndReportsError() throws InterruptedException {
+        database.getOpenHelper().getWritableDatabase().execSQL("CREATE TRIGGER reject_update "
+                + "BEFORE UPDATE ON tasks BEGIN SELECT RAISE(ABORT, 'somente leitura'); END");
+
+        viewModel.setCompleted(taskId, true);
+        assertFalse(repository.awaitWrites(5, TimeUnit.SECONDS));
+        shadowOf(Looper.getMainLooper()).idle();
+
+        assertTrue(overlay().isEmpty());
+        assertEquals("Não foi possível salvar as alterações", viewModel.getWriteError().getValue());
+        assertFalse(database.taskDao().loadById(taskId).isCompleted());
+    }
+
+    private Map<Long, TaskStatusUpdate> overlay() {
+        return viewModel.getStatusOverlay().getValue();
+    }
+
+    private TaskListItem item(boolean completed) {
+        return new TaskListItem(taskId, "Relatório", null, TaskPriority.MEDIUM, completed,
+                1_000L, completed ? 2_000L : Task.NO_TIMESTAMP, Task.NO_TIMESTAMP);
+    }
+}
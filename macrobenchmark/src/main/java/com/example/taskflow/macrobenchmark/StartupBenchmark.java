@@ -0,0 +1,84 @@
+package com.example.taskflow.macrobenchmark;
+
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.StartupTimingMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.Until;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import kotlin.Unit;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Startup a frio do app até a lista de tarefas aparecer, com o banco já preenchido
+ * (SeedTasksReceiver do build benchmark do :app) para a primeira página ter o que carregar.
+ *
+ * O StartupTimingMetric reporta timeToInitialDisplayMs (primeiro frame da splash) e
+ * timeToFullDisplayMs, marcado pela MainActivity com reportFullyDrawn() quando a
+ * primeira página da lista termina de carregar. Os dois modos de compilação permitem
+ * comparar o ganho do Baseline Profile.
+ */
+@RunWith(AndroidJUnit4.class)
+public class StartupBenchmark {
+
+    private static final String PACKAGE_NAME = "com.example.taskflow";
+    private static final int ITERATIONS = 10;
+    private static final long LIST_TIMEOUT_MS = 10_000;
+    private static final int SEED_TASKS = 2_000;
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    // O am broadcast só retorna depois que o receiver grava as tarefas
+    @Before
+    public void seedTasks() throws IOException {
+        String output = UiDevice.getInstance(InstrumentationRegistry.getInstrumentation())
+                .executeShellCommand("am broadcast -n " + PACKAGE_NAME
+                        + "/.benchmark.SeedTasksReceiver --ei count " + SEED_TASKS);
+        assertTrue("Falha ao preencher o banco: " + output, output.contains("result=-1"));
+    }
+
+    @Test
+    public void startupWithoutCompilation() {
+        startup(new CompilationMode.None());
+    }
+
+    @Test
+    public void startupWithBaselineProfile() {
+        startup(new CompilationMode.Partial());
+    }
+
+    private void startup(CompilationMode compilationMode) {
+        benchmarkRule.measureRepeated(
+                PACKAGE_NAME,
+                Collections.singletonList(new StartupTimingMetric()),
+                compilationMode,
+                StartupMode.COLD,
+                ITERATIONS,
+                scope -> {
+                    scope.pressHome();
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    scope.startActivityAndWait();
+                    // A medição termina com a lista de tarefas na tela
+                    scope.getDevice().wait(
+                            Until.hasObject(By.res(PACKAGE_NAME, "recyclerViewTasks")),
+                            LIST_TIMEOUT_MS);
+                    return Unit.INSTANCE;
+                });
+    }
+}